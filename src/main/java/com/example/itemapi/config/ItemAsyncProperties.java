@@ -0,0 +1,30 @@
+package com.example.itemapi.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// Deadlines for ItemService async operations: item.async.timeout applies to every
+// operation unless item.async.timeouts.<operation> (e.g. searchItems) overrides it.
+// item.async.create-batch.* and item.async.load-batch.* control how concurrent
+// createItemAsync and getItemByIdAsync calls are coalesced, and item.async.scan.*
+// how the database fallback of searchItems splits its scan across threads.
+@ConfigurationProperties("item.async")
+public record ItemAsyncProperties(@DefaultValue("2s") Duration timeout, Map<String, Duration> timeouts,
+        @DefaultValue Batch createBatch, @DefaultValue Batch loadBatch, @DefaultValue Scan scan) {
+
+    public ItemAsyncProperties {
+        timeouts = timeouts != null ? Map.copyOf(timeouts) : Map.of();
+    }
+
+    public Duration timeoutFor(String operation) {
+        return timeouts.getOrDefault(operation, timeout);
+    }
+
+    public record Batch(@DefaultValue("100") int maxSize, @DefaultValue("2ms") Duration maxDelay,
+            @DefaultValue("2") int maxInFlight) {}
+
+    public record Scan(@DefaultValue("4") int parallelism, @DefaultValue("10000") long minChunkSize) {}
+}
@@ -0,0 +1,46 @@
+package com.example.itemapi.config;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Exposes Hibernate second-level and query cache statistics at /actuator/l2cache,
+// for tuning the region settings in application.conf
+@Component
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+
+    public record Counts(long hits, long misses, long puts) {}
+    public record Region(Counts counts, Long elementsInMemory) {}
+    public record Report(Map<String, Region> regions, Counts queryCache) {}
+
+    private final SessionFactory sessionFactory;
+
+    public SecondLevelCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @ReadOperation
+    public Report statistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Region> regions = new TreeMap<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            // JCache regions cannot report their size and return Long.MIN_VALUE
+            long elements = region.getElementCountInMemory();
+            regions.put(name, new Region(
+                    new Counts(region.getHitCount(), region.getMissCount(), region.getPutCount()),
+                    elements < 0 ? null : elements));
+        }
+        return new Report(regions, new Counts(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+    }
+}
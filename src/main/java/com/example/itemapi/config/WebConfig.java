@@ -1,19 +1,27 @@
 package com.example.itemapi.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
-
 @Configuration
-@EnableAsync
+@EnableConfigurationProperties(ItemAsyncProperties.class)
+@EnableScheduling
 public class WebConfig {
 
-    // Define a custom async executor to control concurrency settings
+    // Define a custom async executor to control concurrency settings.
+    // ItemService runs its repository work directly on this pool; actuator
+    // publishes its executor.* metrics (active, queued, completed) automatically.
     @Bean(name = "customAsyncExecutor")
-    public Executor customAsyncExecutor() {
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor customAsyncExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);         // Minimum number of threads
         executor.setMaxPoolSize(10);         // Maximum number of threads
@@ -22,4 +30,29 @@ public class WebConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    // Fixed pool for the chunks of partitioned database scans. Kept apart from customAsyncExecutor,
+    // whose tasks wait on these chunks, and small enough to leave connections for everything else.
+    @Bean(name = "itemScanExecutor")
+    public AsyncTaskExecutor itemScanExecutor(ItemAsyncProperties asyncProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncProperties.scan().parallelism());
+        executor.setMaxPoolSize(asyncProperties.scan().parallelism());
+        executor.setThreadNamePrefix("ScanThread-");
+        executor.initialize();
+        return executor;
+    }
+
+    // With spring.threads.virtual.enabled=true on Java 21+, Tomcat and ItemService both run on
+    // virtual threads. A thread per task is cheap, so the bound is a concurrency limit (a semaphore
+    // that blocks submitters) sized to the connection pool rather than a thread count and queue.
+    @Bean(name = "customAsyncExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor customAsyncVirtualExecutor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxConnections) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("AsyncVirtual-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxConnections);
+        return executor;
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.itemapi.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,19 +21,42 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import com.example.itemapi.model.CategoryCount;
 import com.example.itemapi.model.Item;
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.model.MultiGetResponse;
 import com.example.itemapi.service.ItemService;
+import com.example.itemapi.service.SearchMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/items")
 public class ItemController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int MAX_MULTI_GET_SIZE = 1000;
+    private static final int DEFAULT_SEARCH_LIMIT = 1000;
+    private static final int MAX_SEARCH_LIMIT = 10_000;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 100;
+
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final Duration streamTimeout;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ObjectMapper objectMapper,
+            @Value("${item.stream.timeout:1h}") Duration streamTimeout) {
         this.itemService = itemService;
+        this.objectMapper = objectMapper;
+        this.streamTimeout = streamTimeout;
     }
     
     // -------------------- Synchronous Endpoints --------------------
@@ -37,9 +66,73 @@ public class ItemController {
         return item != null ? ResponseEntity.ok(item) : ResponseEntity.notFound().build();
     }
 
+    // Passing limit and/or after switches to keyset pagination; the next page's cursor
+    // is returned in the X-Next-Cursor header while more rows may follow.
     @GetMapping
-    public ResponseEntity<List<Item>> getItems(@RequestParam(required = false) String category) {
-        return ResponseEntity.ok(itemService.getItems(category));
+    public ResponseEntity<List<ItemView>> getItems(@RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after) {
+        if (limit == null && after == null) {
+            return ResponseEntity.ok(itemService.getItems(category));
+        }
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+        List<ItemView> page = itemService.getItemsPage(category, after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).id()));
+        }
+        return response.body(page);
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategoryCount>> getCategoryCounts() {
+        return ResponseEntity.ok(itemService.getCategoryCounts());
+    }
+
+    // Autocomplete: names and categories starting with prefix (case-insensitive), most common first
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(@RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        int maxResults = Math.max(1, Math.min(limit != null ? limit : DEFAULT_SUGGEST_LIMIT, MAX_SUGGEST_LIMIT));
+        return ResponseEntity.ok(itemService.suggest(prefix, maxResults));
+    }
+
+    @GetMapping("/multi")
+    public ResponseEntity<MultiGetResponse> getItemsByIds(@RequestParam List<Long> ids) {
+        return multiGet(ids);
+    }
+
+    @PostMapping("/multi")
+    public ResponseEntity<MultiGetResponse> postItemsByIds(@RequestBody List<Long> ids) {
+        return multiGet(ids);
+    }
+
+    private ResponseEntity<MultiGetResponse> multiGet(List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_MULTI_GET_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(itemService.getItemsByIds(ids));
+    }
+
+    // Written by a WebAsyncTask with its own item.stream.timeout: a plain StreamingResponseBody gets the
+    // servlet async timeout (30s on Tomcat), which would cut a large table off mid-body
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> streamItems(@RequestParam(required = false) String category,
+            HttpServletResponse response) {
+        return new WebAsyncTask<>(streamTimeout.toMillis(), () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            OutputStream out = response.getOutputStream();
+            itemService.streamItems(category, item -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(item));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+            return null;
+        });
     }
 
     @PostMapping
@@ -47,6 +140,15 @@ public class ItemController {
         return new ResponseEntity<>(itemService.createItem(item), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<Long>> createItems(@RequestBody List<Item> items) {
+        if (items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Long> ids = itemService.createItems(items).stream().map(Item::getId).toList();
+        return new ResponseEntity<>(ids, HttpStatus.CREATED);
+    }
+
     // -------------------- Async Endpoints --------------------
     @GetMapping("/by-id")
     public CompletableFuture<ResponseEntity<Item>> getItemAsync(@RequestParam Long id) {
@@ -81,9 +183,14 @@ public class ItemController {
                 : ResponseEntity.notFound().build());
     }
 
+    // mode=RANKED returns the best full-text matches first instead of every substring match by id;
+    // mode=FUZZY does the same over names while tolerating typos
     @GetMapping("/search")
-    public CompletableFuture<ResponseEntity<List<Item>>> searchItemsAsync(@RequestParam String keyword) {
-        return itemService.searchItemsAsync(keyword)
+    public CompletableFuture<ResponseEntity<List<ItemView>>> searchItemsAsync(@RequestParam String keyword,
+            @RequestParam(defaultValue = "SUBSTRING") SearchMode mode,
+            @RequestParam(required = false) Integer limit) {
+        int maxResults = Math.max(1, Math.min(limit != null ? limit : DEFAULT_SEARCH_LIMIT, MAX_SEARCH_LIMIT));
+        return itemService.searchItemsAsync(keyword, mode, maxResults)
                 .thenApply(ResponseEntity::ok);
     }
 }
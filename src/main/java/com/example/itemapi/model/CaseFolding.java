@@ -0,0 +1,39 @@
+package com.example.itemapi.model;
+
+/**
+ * The one case-folding rule for item text.
+ *
+ * The normalized columns, the in-memory n-gram index, keyword matching and
+ * autocomplete all fold through here, so a value folds the same way wherever
+ * it is stored or compared. Two chars are equal ignoring case when they fold
+ * to the same char, the rule {@link String#equalsIgnoreCase} uses; ASCII goes
+ * through a lookup table since it is the common case on the hot paths.
+ */
+public final class CaseFolding {
+
+    private static final char[] ASCII_FOLD = new char[128];
+
+    static {
+        for (char c = 0; c < ASCII_FOLD.length; c++) {
+            ASCII_FOLD[c] = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+        }
+    }
+
+    private CaseFolding() {}
+
+    public static char fold(char c) {
+        return c < ASCII_FOLD.length ? ASCII_FOLD[c] : Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    // Null stays null, so absent fields stay absent in the normalized columns
+    public static String fold(String value) {
+        if (value == null) {
+            return null;
+        }
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+}
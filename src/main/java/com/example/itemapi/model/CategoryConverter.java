@@ -0,0 +1,19 @@
+package com.example.itemapi.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Hands out the canonical CategoryDictionary instance for every category read from the database
+@Converter
+public class CategoryConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String category) {
+        return category;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String category) {
+        return CategoryDictionary.intern(category);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.itemapi.model;
+
+// Number of items in a category, as returned by GET /items/categories
+public record CategoryCount(String category, long count) {}
@@ -0,0 +1,50 @@
+package com.example.itemapi.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide dictionary of category values.
+ *
+ * Categories are a small set of repeated strings, so each distinct value gets
+ * one canonical instance and a dense int code. Loaded items and in-memory
+ * indexes share those instances instead of holding a copy per row. Codes are
+ * never reused; the dictionary only grows with categories that were stored.
+ */
+public final class CategoryDictionary {
+
+    private static final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private static volatile String[] values = new String[64];
+    private static int size;
+
+    private CategoryDictionary() {}
+
+    public static String intern(String category) {
+        return category == null ? null : valueOf(code(category));
+    }
+
+    public static int code(String category) {
+        Integer code = codes.get(category);
+        return code != null ? code : add(category);
+    }
+
+    public static String valueOf(int code) {
+        return values[code];
+    }
+
+    private static synchronized int add(String category) {
+        Integer existing = codes.get(category);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int code = size++;
+        // Store the value before publishing the code, so any reader that finds the code can resolve it
+        values[code] = category;
+        codes.put(category, code);
+        return code;
+    }
+}
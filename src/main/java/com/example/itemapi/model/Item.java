@@ -1,24 +1,56 @@
 package com.example.itemapi.model;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_category", columnList = "category"),
+        @Index(name = "idx_items_name_norm", columnList = "name_norm"),
+        @Index(name = "idx_items_category_norm", columnList = "category_norm") })
 public class Item {
 
+    public static final String ID_SEQUENCE = "items_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (50 ids per round trip) rather than IDENTITY, which rules out JDBC insert batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String name;
 
+    @Convert(converter = CategoryConverter.class)
     private String category;
 
+    // Case-folded copies of name and category, kept for database-side search
+    @JsonIgnore
+    @Column(name = "name_norm")
+    private String nameNorm;
+
+    @JsonIgnore
+    @Column(name = "category_norm")
+    private String categoryNorm;
+
     // Constructors
     public Item() {}
 
@@ -36,4 +68,11 @@ public class Item {
 
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
+
+    @PrePersist
+    @PreUpdate
+    public void updateNormalized() {
+        nameNorm = CaseFolding.fold(name);
+        categoryNorm = CaseFolding.fold(category);
+    }
 }
@@ -0,0 +1,5 @@
+package com.example.itemapi.model;
+
+// Read-only projection of an item for listing, search and stream responses; built directly by
+// JPQL constructor queries, so no entity is managed or snapshotted for it
+public record ItemView(Long id, String name, String category) {}
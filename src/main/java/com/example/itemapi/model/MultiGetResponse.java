@@ -0,0 +1,6 @@
+package com.example.itemapi.model;
+
+import java.util.List;
+
+// Response of GET/POST /items/multi: the items found, in request order, and the ids that weren't
+public record MultiGetResponse(List<Item> items, List<Long> missing) {}
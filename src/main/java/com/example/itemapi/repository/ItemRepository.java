@@ -1,14 +1,108 @@
 package com.example.itemapi.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.itemapi.model.CategoryCount;
 import com.example.itemapi.model.Item;
+import com.example.itemapi.model.ItemView;
 
+import jakarta.persistence.QueryHint;
+
+// Reads run in read-only transactions: no dirty-checking snapshots, manual flush and a
+// read-only JDBC connection. Only the @Modifying statements below are read-write.
 @Repository
+@Transactional(readOnly = true)
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByCategory(String category); // Custom query method
     List<Item> findByName(String name); // Custom query method for name
+
+    // GROUP BY over the whole table, only used until the in-memory counts are built
+    @Query("select new com.example.itemapi.model.CategoryCount(i.category, count(i)) from Item i "
+            + "where i.category is not null group by i.category order by i.category")
+    List<CategoryCount> countByCategory();
+
+    long countByNameContainingIgnoreCaseOrCategoryContainingIgnoreCase(String name, String category);
+
+    // ItemView projections for listings and search: rows are read straight into records,
+    // bypassing the persistence context
+    @Query("select new com.example.itemapi.model.ItemView(i.id, i.name, i.category) from Item i order by i.id")
+    List<ItemView> findAllViews();
+
+    // Results go to the Hibernate query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.example.itemapi.model.ItemView(i.id, i.name, i.category) from Item i "
+            + "where i.category = :category order by i.id")
+    List<ItemView> findViewsByCategory(String category);
+
+    // Keyset pagination: next page of rows after the given id
+    @Query("select new com.example.itemapi.model.ItemView(i.id, i.name, i.category) from Item i "
+            + "where i.id > :after order by i.id")
+    List<ItemView> findViewsAfter(Long after, Limit limit);
+
+    @Query("select new com.example.itemapi.model.ItemView(i.id, i.name, i.category) from Item i "
+            + "where i.category = :category and i.id > :after order by i.id")
+    List<ItemView> findViewsByCategoryAfter(String category, Long after, Limit limit);
+
+    // Database-side search over the normalized columns; patterns are LIKE patterns escaped with '!'.
+    // Prefix matches take one query per column so each can range-scan its own index (an OR across
+    // the two columns plans as a full scan in id order). Contains matches cannot use an index, so
+    // they are scanned in id ranges (possibly in parallel) and skip rows the prefix queries returned.
+    @Query("select new com.example.itemapi.model.ItemView(i.id, i.name, i.category) from Item i "
+            + "where i.nameNorm like :prefix escape '!' order by i.id")
+    List<ItemView> searchByNamePrefix(String prefix, Limit limit);
+
+    @Query("select new com.example.itemapi.model.ItemView(i.id, i.name, i.category) from Item i "
+            + "where i.categoryNorm like :prefix escape '!' order by i.id")
+    List<ItemView> searchByCategoryPrefix(String prefix, Limit limit);
+
+    @Query("select new com.example.itemapi.model.ItemView(i.id, i.name, i.category) from Item i "
+            + "where i.id between :from and :to "
+            + "and (i.nameNorm like :contains escape '!' or i.categoryNorm like :contains escape '!') "
+            + "and coalesce(i.nameNorm, '') not like :prefix escape '!' "
+            + "and coalesce(i.categoryNorm, '') not like :prefix escape '!' order by i.id")
+    List<ItemView> searchByContainsExcludingPrefix(String contains, String prefix, Long from, Long to, Limit limit);
+
+    @Query("select min(i.id) from Item i")
+    Long findMinId();
+
+    @Query("select max(i.id) from Item i")
+    Long findMaxId();
+
+    // Rows written before the normalized columns existed, for the startup backfill
+    @Query("select i from Item i where i.id > :after and ((i.nameNorm is null and i.name is not null) "
+            + "or (i.categoryNorm is null and i.category is not null)) order by i.id")
+    List<Item> findUnnormalizedAfter(Long after, Limit limit);
+
+    // Cursor-backed streams, must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.itemapi.model.ItemView(i.id, i.name, i.category) from Item i order by i.id")
+    Stream<ItemView> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.itemapi.model.ItemView(i.id, i.name, i.category) from Item i "
+            + "where i.category = :category order by i.id")
+    Stream<ItemView> streamByCategory(String category);
+
+    // Single-statement writes; the affected-row count tells whether the item existed
+    // Bulk updates skip entity callbacks, so the caller passes the normalized columns too
+    @Transactional
+    @Modifying
+    @Query("update Item i set i.name = :name, i.category = :category, "
+            + "i.nameNorm = :nameNorm, i.categoryNorm = :categoryNorm where i.id = :id")
+    int updateNameAndCategory(Long id, String name, String category, String nameNorm, String categoryNorm);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Item i where i.id = :id")
+    int deleteItemById(Long id);
 }
@@ -0,0 +1,38 @@
+package com.example.itemapi.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs work in a transaction bounded by a deadline (a {@link System#nanoTime()}
+ * value), so Hibernate puts the remaining time on every JDBC statement as a
+ * query timeout.
+ */
+@Component
+public class DeadlineTransactions {
+
+    private final PlatformTransactionManager transactionManager;
+
+    public DeadlineTransactions(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    public <T> T execute(long deadline, boolean readOnly, Supplier<T> work) {
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+            // Expired while queued, don't take a connection at all
+            throw new TransactionTimedOutException("Deadline expired before the transaction started");
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        // JDBC query timeouts have whole-second resolution; round up, so a statement can outlive the
+        // caller's deadline by under a second
+        transaction.setTimeout((int) TimeUnit.NANOSECONDS.toSeconds(remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return transaction.execute(status -> work.get());
+    }
+}
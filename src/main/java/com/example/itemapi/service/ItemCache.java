@@ -0,0 +1,85 @@
+package com.example.itemapi.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.itemapi.model.Item;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of items by id (Caffeine, W-TinyLFU eviction plus a TTL).
+ *
+ * Writers invalidate through {@link #invalidate}, which also bumps a generation
+ * counter; a load that raced with a write is not left in the cache, so a reader
+ * can never re-insert a row older than the last committed write.
+ */
+@Component
+public class ItemCache {
+
+    private final Cache<Long, Item> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemCache(@Value("${item.cache.by-id.maximum-size:10000}") long maximumSize,
+            @Value("${item.cache.by-id.expire-after-write:10m}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items.by-id");
+    }
+
+    public Item getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public Map<Long, Item> getAllPresent(Collection<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    // Miss path: loads the row and caches it unless a write raced with the load
+    public Optional<Item> load(Long id, Function<Long, Optional<Item>> loader) {
+        long observed = generation.get();
+        Optional<Item> loaded = loader.apply(id);
+        loaded.ifPresent(item -> {
+            cache.put(id, item);
+            if (generation.get() != observed) {
+                cache.invalidate(id);
+            }
+        });
+        return loaded;
+    }
+
+    // Batched miss path: loads the rows found for ids, with the same race check as load
+    public Map<Long, Item> loadAll(Collection<Long> ids, Function<Collection<Long>, Map<Long, Item>> loader) {
+        long observed = generation.get();
+        Map<Long, Item> loaded = loader.apply(ids);
+        cache.putAll(loaded);
+        if (generation.get() != observed) {
+            cache.invalidateAll(loaded.keySet());
+        }
+        return loaded;
+    }
+
+    // Only for rows that no reader can have seen yet, e.g. freshly inserted ones
+    public void put(Item item) {
+        cache.put(item.getId(), item);
+    }
+
+    public void invalidate(Long id) {
+        generation.incrementAndGet();
+        cache.invalidate(id);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.itemapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.example.itemapi.config.ItemAsyncProperties;
+import com.example.itemapi.model.CaseFolding;
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.repository.ItemRepository;
+
+/**
+ * Substring search run in the database on the normalized columns, used until
+ * the in-memory search index is built.
+ *
+ * Only matching rows are transferred: prefix matches first, then other rows
+ * containing the keyword, limit in total and each group in id order. The
+ * keyword is escaped, so {@code %}, {@code _} and {@code !} match literally.
+ */
+@Component
+public class ItemDatabaseSearch {
+
+    private record IdRange(long from, long to) {}
+    // Chunks per scan thread, so a slow chunk doesn't leave the other threads idle
+    private static final int SCAN_CHUNKS_PER_THREAD = 4;
+
+    private final ItemRepository itemRepository;
+    private final DeadlineTransactions transactions;
+    private final AsyncTaskExecutor scanExecutor;
+    private final ItemAsyncProperties asyncProperties;
+
+    public ItemDatabaseSearch(ItemRepository itemRepository, DeadlineTransactions transactions,
+            @Qualifier("itemScanExecutor") AsyncTaskExecutor scanExecutor, ItemAsyncProperties asyncProperties) {
+        this.itemRepository = itemRepository;
+        this.transactions = transactions;
+        this.scanExecutor = scanExecutor;
+        this.asyncProperties = asyncProperties;
+    }
+
+    public List<ItemView> search(String keyword, int limit, long deadline) {
+        String escaped = CaseFolding.fold(keyword).replaceAll("[!%_]", "!$0");
+        String prefix = escaped + "%";
+        List<ItemView> found = transactions.execute(deadline, true, () -> mergeById(
+                itemRepository.searchByNamePrefix(prefix, Limit.of(limit)),
+                itemRepository.searchByCategoryPrefix(prefix, Limit.of(limit)), limit));
+        if (found.size() < limit) {
+            found.addAll(scanContaining("%" + escaped + "%", prefix, limit - found.size(), deadline));
+        }
+        return found;
+    }
+
+    // The contains match is a table scan, so the id range is split into chunks that itemScanExecutor
+    // scans concurrently, each in its own read-only transaction. Chunks are merged in id order and
+    // those not started yet once limit rows are found are cancelled. Like every other async
+    // operation (see ItemService.runAsync), running chunks are left to their limit and statement timeout.
+    private List<ItemView> scanContaining(String contains, String prefix, int limit, long deadline) {
+        IdRange range = transactions.execute(deadline, true, () -> {
+            Long min = itemRepository.findMinId();
+            return min != null ? new IdRange(min, itemRepository.findMaxId()) : null;
+        });
+        if (range == null) {
+            return List.of();
+        }
+        long span = range.to() - range.from() + 1;
+        int parallelism = asyncProperties.scan().parallelism();
+        long chunks = Math.max(1, Math.min((long) parallelism * SCAN_CHUNKS_PER_THREAD,
+                span / asyncProperties.scan().minChunkSize()));
+        if (chunks == 1) {
+            return transactions.execute(deadline, true, () -> itemRepository.searchByContainsExcludingPrefix(
+                    contains, prefix, range.from(), range.to(), Limit.of(limit)));
+        }
+
+        long chunkSize = (span + chunks - 1) / chunks;
+        List<Future<List<ItemView>>> parts = new ArrayList<>();
+        for (long from = range.from(); from <= range.to(); from += chunkSize) {
+            long start = from;
+            long end = Math.min(from + chunkSize - 1, range.to());
+            parts.add(scanExecutor.submit(() -> transactions.execute(deadline, true, () -> itemRepository
+                    .searchByContainsExcludingPrefix(contains, prefix, start, end, Limit.of(limit)))));
+        }
+        List<ItemView> found = new ArrayList<>(limit);
+        try {
+            for (Future<List<ItemView>> part : parts) {
+                if (found.size() >= limit) {
+                    break;
+                }
+                found.addAll(first(part.get(), limit - found.size()));
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            // Only on shutdown, timed-out operations are not interrupted
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Scan interrupted");
+        } finally {
+            parts.forEach(part -> part.cancel(false));
+        }
+        return found;
+    }
+
+    // Union of two id-ordered lists, in id order and without duplicates, up to limit
+    private static List<ItemView> mergeById(List<ItemView> a, List<ItemView> b, int limit) {
+        List<ItemView> merged = new ArrayList<>(Math.min(limit, a.size() + b.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < a.size() || j < b.size())) {
+            int order = i == a.size() ? 1 : j == b.size() ? -1 : Long.compare(a.get(i).id(), b.get(j).id());
+            merged.add(order <= 0 ? a.get(i) : b.get(j));
+            if (order <= 0) {
+                i++;
+            }
+            if (order >= 0) {
+                j++;
+            }
+        }
+        return merged;
+    }
+
+    private static <T> List<T> first(List<T> list, int limit) {
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+}
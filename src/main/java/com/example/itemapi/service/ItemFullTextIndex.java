@@ -0,0 +1,300 @@
+package com.example.itemapi.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.itemapi.model.Item;
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.repository.ItemRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Lucene full-text index over item names and categories, kept on local disk,
+ * answering ranked and typo-tolerant top-K searches.
+ *
+ * Fields are tokenized with the standard analyzer and scored with BM25 (name
+ * matches count double). The items table stays the source of truth: the
+ * index is recreated from it at startup and kept in sync by {@link ItemService}
+ * after every committed write. Writes are buffered by the index writer and the
+ * searcher is reopened on a schedule, so searches see them within
+ * {@code item.search.full-text.refresh-interval}. A failed write takes the
+ * index out of service (callers fall back to substring search) instead of
+ * failing the caller, whose transaction has already committed.
+ */
+@Component
+public class ItemFullTextIndex {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String CATEGORY = "category";
+    private static final float NAME_BOOST = 2.0f;
+    private static final int MAX_QUERY_TERMS = 64;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemFullTextIndex.class);
+
+    private final ItemRepository itemRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    // Directory this instance created for itself, deleted on close
+    private final Path ownPath;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // ids written while the initial rebuild is still running; the rebuild must not overwrite them
+    private final Set<Long> touched = new HashSet<>();
+    private volatile boolean ready;
+    // set when an update failed, so the index no longer matches the table
+    private volatile boolean stale;
+
+    // Without a configured path each instance indexes into a fresh temporary directory, so
+    // instances on one host never contend for Lucene's write lock
+    public ItemFullTextIndex(ItemRepository itemRepository,
+            @Value("${item.search.full-text.directory:#{null}}") Path path) {
+        this.itemRepository = itemRepository;
+        try {
+            this.ownPath = path == null ? Files.createTempDirectory("item-search") : null;
+            this.directory = FSDirectory.open(path != null ? path : ownPath);
+            this.writer = new IndexWriter(directory,
+                    new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open full-text index" + (path != null ? " at " + path : ""), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long after = 0;
+        long indexed = 0;
+        List<ItemView> page;
+        do {
+            page = itemRepository.findViewsAfter(after, Limit.of(REBUILD_PAGE_SIZE));
+            synchronized (this) {
+                for (ItemView item : page) {
+                    if (!touched.contains(item.id())) {
+                        add(item.id(), item.name(), item.category());
+                    }
+                }
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).id();
+                indexed += page.size();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        try {
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Only once searches can see the rebuilt documents; a failed commit leaves callers on their fallback
+        synchronized (this) {
+            touched.clear();
+            ready = true;
+        }
+        logger.info("Full-text index built with {} items in {} ms",
+                indexed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Until the initial rebuild completes, results may be incomplete and callers should use another search
+    public boolean isReady() {
+        return ready && !stale;
+    }
+
+    // Takes the index out of service until the next restart
+    public void markStale() {
+        stale = true;
+    }
+
+    public void put(Item item) {
+        putAll(List.of(item));
+    }
+
+    public synchronized void putAll(Collection<Item> items) {
+        try {
+            for (Item item : items) {
+                if (!ready) {
+                    touched.add(item.getId());
+                }
+                writer.updateDocument(new Term(ID, item.getId().toString()),
+                        document(item.getId(), item.getName(), item.getCategory()));
+            }
+        } catch (IOException | RuntimeException e) {
+            fail("put", e);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        if (!ready) {
+            touched.add(id);
+        }
+        try {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+        } catch (IOException | RuntimeException e) {
+            fail("remove", e);
+        }
+    }
+
+    // Makes buffered writes visible to searches; reopens the searcher only if something changed
+    @Scheduled(fixedDelayString = "${item.search.full-text.refresh-interval:100ms}")
+    public void refresh() {
+        if (stale) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            fail("refresh", e);
+        }
+    }
+
+    // Best limit matches for the words of text, highest BM25 score first
+    public List<ItemView> search(String text, int limit) {
+        return search(parse(text, ItemFullTextIndex::wordQuery), limit);
+    }
+
+    // Like search, but only over names and tolerating typos: each word matches name terms within
+    // a small edit distance, found by intersecting a Levenshtein automaton with the term dictionary
+    public List<ItemView> searchFuzzy(String text, int limit) {
+        return search(parse(text, ItemFullTextIndex::fuzzyWordQuery), limit);
+    }
+
+    private List<ItemView> search(Query query, int limit) {
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, limit);
+                StoredFields stored = searcher.storedFields();
+                List<ItemView> results = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc hit : top.scoreDocs) {
+                    Document doc = stored.document(hit.doc);
+                    results.add(new ItemView(Long.valueOf(doc.get(ID)), doc.get(NAME), doc.get(CATEGORY)));
+                }
+                return results;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        if (ownPath != null) {
+            try (Stream<Path> files = Files.walk(ownPath)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    // Any analyzed word may match; null when text has no words
+    private Query parse(String text, Function<String, Query> wordQuery) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int terms = 0;
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (terms < MAX_QUERY_TERMS && tokens.incrementToken()) {
+                query.add(wordQuery.apply(term.toString()), Occur.SHOULD);
+                terms++;
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms > 0 ? query.build() : null;
+    }
+
+    private static Query wordQuery(String word) {
+        return new BooleanQuery.Builder()
+                .add(new BoostQuery(new TermQuery(new Term(NAME, word)), NAME_BOOST), Occur.SHOULD)
+                .add(new TermQuery(new Term(CATEGORY, word)), Occur.SHOULD)
+                .build();
+    }
+
+    // Edit distance grows with word length: exact up to 2 chars, 1 edit up to 5, then 2 (the automaton maximum)
+    private static Query fuzzyWordQuery(String word) {
+        int length = word.codePointCount(0, word.length());
+        int maxEdits = length <= 2 ? 0 : length <= 5 ? 1 : FuzzyQuery.defaultMaxEdits;
+        return new FuzzyQuery(new Term(NAME, word), maxEdits);
+    }
+
+    private void add(Long id, String name, String category) {
+        try {
+            writer.addDocument(document(id, name, category));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void fail(String operation, Exception e) {
+        logger.error("Full-text index {} failed, taking the index out of service", operation, e);
+        stale = true;
+    }
+
+    private static Document document(Long id, String name, String category) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, id.toString(), Field.Store.YES));
+        if (name != null) {
+            doc.add(new TextField(NAME, name, Field.Store.YES));
+        }
+        if (category != null) {
+            doc.add(new TextField(CATEGORY, category, Field.Store.YES));
+        }
+        return doc;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.itemapi.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.itemapi.model.ItemView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of getItems results, one entry per category plus one for the full
+ * listing (the empty key).
+ *
+ * Bounded by the total number of cached items rather than entries, so a few
+ * huge listings cannot crowd out the heap. Writers invalidate exactly the
+ * listings they touched; like {@link ItemCache}, a load that raced with a
+ * write is not left in the cache.
+ */
+@Component
+public class ItemListCache {
+
+    private static final Optional<String> ALL = Optional.empty();
+
+    private final Cache<Optional<String>, List<ItemView>> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemListCache(@Value("${item.cache.by-category.maximum-items:100000}") long maximumItems,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumItems)
+                .<Optional<String>, List<ItemView>>weigher((key, items) -> Math.max(1, items.size()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items.by-category");
+    }
+
+    public List<ItemView> getIfPresent(Optional<String> category) {
+        return cache.getIfPresent(category);
+    }
+
+    public List<ItemView> load(Optional<String> category, Supplier<List<ItemView>> loader) {
+        long observed = generation.get();
+        List<ItemView> loaded = loader.get();
+        cache.put(category, loaded);
+        if (generation.get() != observed) {
+            cache.invalidate(category);
+        }
+        return loaded;
+    }
+
+    // Drops the full listing and the listings of the given categories (null ones are only in the full listing)
+    public void invalidate(String... categories) {
+        generation.incrementAndGet();
+        cache.invalidate(ALL);
+        for (String category : categories) {
+            if (category != null) {
+                cache.invalidate(Optional.of(category));
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,465 @@
+package com.example.itemapi.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.example.itemapi.model.CaseFolding;
+import com.example.itemapi.model.CategoryCount;
+import com.example.itemapi.model.CategoryDictionary;
+import com.example.itemapi.model.Item;
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.repository.ItemRepository;
+
+/**
+ * In-memory n-gram index over item names and categories, used to answer
+ * keyword searches without scanning the items table.
+ *
+ * Every position of a lower-cased field contributes the gram starting there
+ * (up to {@value #GRAM_LENGTH} chars, shorter at the end of the field), so a
+ * keyword of any length can be resolved from the posting lists and then
+ * verified against the stored field values. Posting lists are sorted primitive
+ * id arrays, so candidates come out in id order and cost 8 bytes per posting.
+ * Kept in sync by {@link ItemService},
+ * which also makes it the source of per-category item counts and of the name
+ * and category values {@link ItemSuggester} builds completions from.
+ */
+@Component
+public class ItemSearchIndex {
+
+    // Told of every name or category value added to (+1) or removed from (-1) the index
+    @FunctionalInterface
+    interface ValueListener {
+        void changed(String value, int delta);
+    }
+
+    static final int GRAM_LENGTH = 3;
+    private static final int NO_CATEGORY = -1;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemSearchIndex.class);
+
+    private final ItemRepository itemRepository;
+
+    // gram -> ids of items whose name or category contains it
+    private final ConcurrentSkipListMap<String, PostingList> postings = new ConcurrentSkipListMap<>();
+    // ids of every indexed item, for the empty keyword
+    private final PostingList all = new PostingList();
+    // id -> indexed field values, used for verification and to build results
+    private final Map<Long, Entry> documents = new ConcurrentHashMap<>();
+    // category code -> number of indexed items in it, kept alongside the documents
+    private final Map<Integer, Long> categoryCounts = new ConcurrentHashMap<>();
+    // ids deleted while the initial rebuild is still running
+    private final Set<Long> tombstones = new HashSet<>();
+    // Posting lists are mutated in place: writers hold the write lock, searches the read lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    // set when an update failed part way, so the index no longer matches the table
+    private volatile boolean stale;
+    // bumped on every change, lets callers memoize derived results
+    private final AtomicLong generation = new AtomicLong();
+    private volatile ValueListener valueListener = (value, delta) -> {};
+
+    public ItemSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long after = 0;
+        List<ItemView> page;
+        do {
+            page = itemRepository.findViewsAfter(after, Limit.of(REBUILD_PAGE_SIZE));
+            page.forEach(this::putIfAbsent);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        lock.writeLock().lock();
+        try {
+            tombstones.clear();
+            ready = true;
+            generation.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Search index built with {} items in {} ms",
+                documents.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Until the initial rebuild completes, results may be incomplete and callers should query the database instead.
+    public boolean isReady() {
+        return ready && !stale;
+    }
+
+    // Takes the index out of service until the next restart
+    public void markStale() {
+        stale = true;
+    }
+
+    public void put(Item item) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = documents.get(item.getId());
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(Entry.of(item));
+            generation.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = documents.get(id);
+            if (previous != null) {
+                unindex(previous);
+            }
+            if (!ready) {
+                tombstones.add(id);
+            }
+            generation.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Item> find(Long id) {
+        return Optional.ofNullable(documents.get(id)).map(Entry::toItem);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public List<ItemView> search(String keyword) {
+        return search(keyword, Integer.MAX_VALUE);
+    }
+
+    // The first limit matches in id order; candidates are verified only until limit of them match
+    public List<ItemView> search(String keyword, int limit) {
+        KeywordMatcher matcher = KeywordMatcher.compile(keyword);
+        List<ItemView> matches = new ArrayList<>(Math.min(limit, 1024));
+        lock.readLock().lock();
+        try {
+            PrimitiveIterator.OfLong ids = candidates(CaseFolding.fold(keyword));
+            while (matches.size() < limit && ids.hasNext()) {
+                Entry entry = documents.get(ids.nextLong());
+                if (entry != null && entry.matches(matcher)) {
+                    matches.add(entry.toView());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    public List<CategoryCount> categoryCounts() {
+        return categoryCounts.entrySet().stream()
+                .map(e -> new CategoryCount(CategoryDictionary.valueOf(e.getKey()), e.getValue()))
+                .sorted(Comparator.comparing(CategoryCount::category))
+                .toList();
+    }
+
+    // Called under the write lock, so changes reach the listener in the order they were indexed
+    void setValueListener(ValueListener valueListener) {
+        this.valueListener = valueListener;
+    }
+
+    // Runs reader over every indexed name and category value (one per field), holding off writes until it returns
+    <T> T readValues(Function<Stream<String>, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(documents.values().stream().flatMap(entry -> entry.values().stream()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(String keyword) {
+        KeywordMatcher matcher = KeywordMatcher.compile(keyword);
+        long count = 0;
+        lock.readLock().lock();
+        try {
+            PrimitiveIterator.OfLong ids = candidates(CaseFolding.fold(keyword));
+            while (ids.hasNext()) {
+                Entry entry = documents.get(ids.nextLong());
+                if (entry != null && entry.matches(matcher)) {
+                    count++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count;
+    }
+
+    // Candidate ids in ascending order, without duplicates; must be consumed under the read lock
+    private PrimitiveIterator.OfLong candidates(String needle) {
+        if (needle.isEmpty()) {
+            return all.iterator();
+        }
+        if (needle.length() < GRAM_LENGTH) {
+            // Short keywords match every gram they prefix
+            return new UnionIterator(postings.subMap(needle, true, needle + Character.MAX_VALUE, true).values());
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= needle.length(); i++) {
+            PostingList ids = postings.get(needle.substring(i, i + GRAM_LENGTH));
+            if (ids == null) {
+                return PostingList.EMPTY.iterator();
+            }
+            lists.add(ids);
+        }
+        // Walk the rarest gram and probe the others
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        return new IntersectionIterator(lists.get(0), lists.subList(1, lists.size()));
+    }
+
+    private void putIfAbsent(ItemView item) {
+        lock.writeLock().lock();
+        try {
+            if (!documents.containsKey(item.id()) && !tombstones.contains(item.id())) {
+                index(Entry.of(item.id(), item.name(), item.category()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Entry entry) {
+        documents.put(entry.id(), entry);
+        if (entry.categoryCode() != NO_CATEGORY) {
+            categoryCounts.merge(entry.categoryCode(), 1L, Long::sum);
+        }
+        entry.values().forEach(value -> valueListener.changed(value, 1));
+        all.add(entry.id());
+        for (String gram : entry.grams()) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(entry.id());
+        }
+    }
+
+    private void unindex(Entry entry) {
+        documents.remove(entry.id());
+        if (entry.categoryCode() != NO_CATEGORY) {
+            categoryCounts.computeIfPresent(entry.categoryCode(), (code, count) -> count > 1 ? count - 1 : null);
+        }
+        entry.values().forEach(value -> valueListener.changed(value, -1));
+        all.remove(entry.id());
+        for (String gram : entry.grams()) {
+            PostingList ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(entry.id());
+                if (ids.size() == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    // Folded with the same rule as KeywordMatcher, so grams agree with verification
+    private static void addGrams(String field, Set<String> grams) {
+        if (field == null) {
+            return;
+        }
+        String folded = CaseFolding.fold(field);
+        for (int i = 0; i < folded.length(); i++) {
+            grams.add(folded.substring(i, Math.min(i + GRAM_LENGTH, folded.length())));
+        }
+    }
+
+    // Sorted ids in a growable long array. Ids come from a sequence, so adds are almost always appends;
+    // anything else is a binary search and an array shift.
+    private static final class PostingList {
+
+        static final PostingList EMPTY = new PostingList();
+
+        private long[] ids = new long[1];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            int at = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0 && at < size) {
+                return;
+            }
+            at = at < 0 ? -at - 1 : at;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + Math.max(1, size >> 1));
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        PrimitiveIterator.OfLong iterator() {
+            return Arrays.stream(ids, 0, size).iterator();
+        }
+    }
+
+    // Ids of the first list that every other list contains
+    private static final class IntersectionIterator implements PrimitiveIterator.OfLong {
+
+        private final PrimitiveIterator.OfLong rarest;
+        private final List<PostingList> others;
+        private long next;
+        private boolean hasNext;
+
+        IntersectionIterator(PostingList rarest, List<PostingList> others) {
+            this.rarest = rarest.iterator();
+            this.others = others;
+            advance();
+        }
+
+        private void advance() {
+            hasNext = false;
+            while (!hasNext && rarest.hasNext()) {
+                long id = rarest.nextLong();
+                hasNext = others.stream().allMatch(ids -> ids.contains(id));
+                next = id;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            long id = next;
+            advance();
+            return id;
+        }
+    }
+
+    // k-way merge of sorted lists, each id once
+    private static final class UnionIterator implements PrimitiveIterator.OfLong {
+
+        private record Head(long id, PrimitiveIterator.OfLong rest) {}
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong(Head::id));
+
+        UnionIterator(Iterable<PostingList> lists) {
+            for (PostingList list : lists) {
+                push(list.iterator());
+            }
+        }
+
+        private void push(PrimitiveIterator.OfLong ids) {
+            if (ids.hasNext()) {
+                heads.add(new Head(ids.nextLong(), ids));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public long nextLong() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            push(head.rest());
+            while (!heads.isEmpty() && heads.peek().id() == head.id()) {
+                push(heads.poll().rest());
+            }
+            return head.id();
+        }
+    }
+
+    // Categories are held as CategoryDictionary codes, shared by every entry in the category
+    private record Entry(Long id, String name, int categoryCode) {
+
+        static Entry of(Item item) {
+            return of(item.getId(), item.getName(), item.getCategory());
+        }
+
+        static Entry of(Long id, String name, String category) {
+            return new Entry(id, name, category != null ? CategoryDictionary.code(category) : NO_CATEGORY);
+        }
+
+        String category() {
+            return categoryCode != NO_CATEGORY ? CategoryDictionary.valueOf(categoryCode) : null;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            addGrams(name, grams);
+            addGrams(category(), grams);
+            return grams;
+        }
+
+        // Non-null field values
+        List<String> values() {
+            String category = category();
+            if (name == null) {
+                return category != null ? List.of(category) : List.of();
+            }
+            return category != null ? List.of(name, category) : List.of(name);
+        }
+
+        boolean matches(KeywordMatcher matcher) {
+            return matcher.matches(name) || matcher.matches(category());
+        }
+
+        ItemView toView() {
+            return new ItemView(id, name, category());
+        }
+
+        Item toItem() {
+            Item item = new Item(name, category());
+            item.setId(id);
+            return item;
+        }
+    }
+}
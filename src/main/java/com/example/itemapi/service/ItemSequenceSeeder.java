@@ -0,0 +1,54 @@
+package com.example.itemapi.service;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.itemapi.model.Item;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves items_seq past the ids already in the items table.
+ *
+ * Ids used to come from an IDENTITY column; on a database that has rows from
+ * then, the sequence that ddl-auto creates starts at 1 and new inserts would
+ * collide with them. Runs while the context starts, after Hibernate has
+ * updated the schema and before any request is served. The sequence is only
+ * ever raised, so running it again, or against an up-to-date database, is
+ * harmless.
+ */
+@Component
+public class ItemSequenceSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemSequenceSeeder.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public ItemSequenceSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @PostConstruct
+    public void seed() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from items", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // The pooled optimizer hands out the block (value - allocation size, value] for each sequence value
+        long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(Item.ID_SEQUENCE), Long.class);
+        if (next - Item.ID_ALLOCATION_SIZE >= maxId) {
+            return;
+        }
+        long restart = maxId + Item.ID_ALLOCATION_SIZE;
+        jdbcTemplate.execute("alter sequence " + Item.ID_SEQUENCE + " restart with " + restart);
+        logger.info("Moved {} from {} to {}, past the highest item id {}", Item.ID_SEQUENCE, next, restart, maxId);
+    }
+}
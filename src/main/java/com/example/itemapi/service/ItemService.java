@@ -1,137 +1,451 @@
 package com.example.itemapi.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.example.itemapi.config.ItemAsyncProperties;
+import com.example.itemapi.model.CaseFolding;
+import com.example.itemapi.model.CategoryCount;
 import com.example.itemapi.model.Item;
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.model.MultiGetResponse;
 import com.example.itemapi.repository.ItemRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
 @Service
 public class ItemService {
 
     private static final Logger logger = LoggerFactory.getLogger(ItemService.class);
+    private static final String RELATED_KEYWORD = "DEFAULT_KEYWORD";
+    private static final int MULTI_GET_CHUNK_SIZE = 500;
+
+    // Related-item count memoized against the search index generation it was computed at
+    private record RelatedCount(long generation, long count) {}
+    private volatile RelatedCount relatedCount;
+
+    private record SearchKey(String keyword, SearchMode mode, int limit) {}
+
     private final ItemRepository itemRepository;
+    private final ItemSearchIndex searchIndex;
+    private final ItemFullTextIndex fullTextIndex;
+    private final ItemDatabaseSearch databaseSearch;
+    private final ItemSuggester suggester;
+    private final ItemCache itemCache;
+    private final ItemListCache listCache;
+    private final EntityManager entityManager;
+    private final AsyncTaskExecutor asyncExecutor;
+    private final DeadlineTransactions transactions;
+    private final ItemAsyncProperties asyncProperties;
+    private final int jdbcBatchSize;
+    private final MicroBatcher<Item, Item> createBatcher;
+    private final MicroBatcher<Long, Optional<Item>> loadBatcher;
+    // Concurrent reads of the same key share one database call
+    private final SingleFlight<Long, Optional<Item>> itemByIdFlight;
+    private final SingleFlight<Optional<String>, List<ItemView>> itemsFlight;
+    private final SingleFlight<SearchKey, List<ItemView>> searchFlight;
 
-    public ItemService(ItemRepository itemRepository) {
+    public ItemService(ItemRepository itemRepository, ItemSearchIndex searchIndex, ItemFullTextIndex fullTextIndex,
+            ItemDatabaseSearch databaseSearch, ItemSuggester suggester, ItemCache itemCache, ItemListCache listCache,
+            EntityManager entityManager, @Qualifier("customAsyncExecutor") AsyncTaskExecutor asyncExecutor,
+            DeadlineTransactions transactions, ItemAsyncProperties asyncProperties,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize,
+            MeterRegistry meterRegistry) {
         this.itemRepository = itemRepository;
+        this.searchIndex = searchIndex;
+        this.fullTextIndex = fullTextIndex;
+        this.databaseSearch = databaseSearch;
+        this.suggester = suggester;
+        this.itemCache = itemCache;
+        this.listCache = listCache;
+        this.entityManager = entityManager;
+        this.asyncExecutor = asyncExecutor;
+        this.transactions = transactions;
+        this.asyncProperties = asyncProperties;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.createBatcher = new MicroBatcher<>("createItem", this::insertCoalesced, asyncExecutor,
+                asyncProperties.createBatch().maxSize(), asyncProperties.createBatch().maxDelay(),
+                asyncProperties.createBatch().maxInFlight());
+        this.loadBatcher = new MicroBatcher<>("getItemById", this::loadCoalesced, asyncExecutor,
+                asyncProperties.loadBatch().maxSize(), asyncProperties.loadBatch().maxDelay(),
+                asyncProperties.loadBatch().maxInFlight());
+        this.itemByIdFlight = new SingleFlight<>("itemById", meterRegistry);
+        this.itemsFlight = new SingleFlight<>("items", meterRegistry);
+        this.searchFlight = new SingleFlight<>("search", meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        createBatcher.close();
+        loadBatcher.close();
     }
 
     // --- Blocking operations ---
     public Optional<Item> getItemById(Long id) {
-        return itemRepository.findById(id);
+        Item cached = itemCache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return itemByIdFlight.execute(id, () -> itemCache.load(id, itemRepository::findById));
+    }
+
+    // Serves what it can from the id cache and loads the rest with chunked findAllById queries
+    public MultiGetResponse getItemsByIds(Collection<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        Map<Long, Item> found = new HashMap<>(itemCache.getAllPresent(requested));
+        List<Long> misses = requested.stream().filter(id -> !found.containsKey(id)).toList();
+        for (int from = 0; from < misses.size(); from += MULTI_GET_CHUNK_SIZE) {
+            List<Long> chunk = misses.subList(from, Math.min(from + MULTI_GET_CHUNK_SIZE, misses.size()));
+            found.putAll(itemCache.loadAll(chunk, this::findAllById));
+        }
+        return new MultiGetResponse(
+                requested.stream().map(found::get).filter(Objects::nonNull).toList(),
+                requested.stream().filter(id -> !found.containsKey(id)).toList());
     }
 
-    public List<Item> getItems(String category) {
+    // Listings are ItemView projections, never managed entities
+    public List<ItemView> getItems(String category) {
+        Optional<String> key = Optional.ofNullable(category);
+        List<ItemView> cached = listCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return itemsFlight.execute(key, () -> listCache.load(key, () -> Collections.unmodifiableList(
+                category != null ? itemRepository.findViewsByCategory(category) : itemRepository.findAllViews())));
+    }
+
+    // Maintained by the search index on every write, so no GROUP BY once it is built
+    public List<CategoryCount> getCategoryCounts() {
+        return searchIndex.isReady() ? searchIndex.categoryCounts() : itemRepository.countByCategory();
+    }
+
+    // Served from memory on the caller's thread, no database access
+    public List<String> suggest(String prefix, int limit) {
+        return suggester.suggest(prefix, limit);
+    }
+
+    // Keyset page of at most limit items with ids greater than after, ordered by id
+    public List<ItemView> getItemsPage(String category, Long after, int limit) {
+        long cursor = after != null ? after : 0L;
         return category != null
-                ? itemRepository.findByCategory(category)
-                : itemRepository.findAll();
+                ? itemRepository.findViewsByCategoryAfter(category, cursor, Limit.of(limit))
+                : itemRepository.findViewsAfter(cursor, Limit.of(limit));
+    }
+
+    // Hands rows to the sink as they are read from the cursor; projections are never attached
+    // to the persistence context, so memory stays flat
+    @Transactional(readOnly = true)
+    public void streamItems(String category, Consumer<ItemView> sink) {
+        try (Stream<ItemView> items = category != null
+                ? itemRepository.streamByCategory(category)
+                : itemRepository.streamAll()) {
+            items.forEach(sink);
+        }
     }
 
     public Item createItem(Item item) {
-        return itemRepository.save(item);
+        Item saved = itemRepository.save(item);
+        afterCommit(() -> {
+            invalidateListings(saved.getId(), saved.getCategory());
+            searchIndex.put(saved);
+            fullTextIndex.put(saved);
+            itemCache.put(saved);
+        });
+        return saved;
+    }
+
+    // All items are inserted in one transaction
+    @Transactional
+    public List<Item> createItems(List<Item> items) {
+        return insertAll(items);
     }
 
     // --- Async operations with real logic ---
-    @Async("customAsyncExecutor")
+    // Each operation is submitted once to customAsyncExecutor and runs there start to finish.
+    // Cache hits complete on the caller's thread. Misses for the same id share one flight, and
+    // flights arriving together are resolved by loadBatcher with a single findAllById.
     public CompletableFuture<Item> getItemByIdAsync(Long id) {
-        return CompletableFuture
-                .supplyAsync(() -> itemRepository.findById(id).orElse(null))
-                .orTimeout(2, TimeUnit.SECONDS)
-                .exceptionally(ex -> {
-                    logger.error("Async getItemById failed: {}", ex.getMessage());
-                    return null;
-                });
+        Item cached = itemCache.getIfPresent(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return itemByIdFlight
+                .executeAsync(id, () -> loadBatcher.submit(id, asyncProperties.timeoutFor("getItemById"))
+                        .exceptionally(ex -> {
+                            logger.error("Async getItemById failed: {}", ex.getMessage());
+                            return Optional.empty();
+                        }))
+                .thenApply(found -> found.orElse(null));
     }
 
-    @Async("customAsyncExecutor")
-    public CompletableFuture<List<Item>> searchItemsAsync(String keyword) {
-        return CompletableFuture
-                .supplyAsync(()
-                        -> // ✅ Streaming logic: fetch all, then filter with Java Streams:
-                        itemRepository.findAll().stream()
-                        .filter(item
-                                -> item.getName().toLowerCase().contains(keyword.toLowerCase())
-                        || item.getCategory().toLowerCase().contains(keyword.toLowerCase())
-                        )
-                        .toList()
-                )
-                .orTimeout(2, TimeUnit.SECONDS)
-                .exceptionally(ex -> {
-                    logger.error("Async searchItems failed: {}", ex.getMessage());
-                    return List.of();
-                });
+    // At most limit matches. Substring searches use the search index once built and the database
+    // until then; ranked and fuzzy searches use the full-text index, falling back to substring until
+    // it is built.
+    public CompletableFuture<List<ItemView>> searchItemsAsync(String keyword, SearchMode mode, int limit) {
+        return searchFlight.executeAsync(new SearchKey(keyword, mode, limit), () -> submitAsync("searchItems",
+                deadline -> search(keyword, mode, limit, deadline), List.of()));
     }
 
-    @Async("customAsyncExecutor")
+    // Index searches run without a transaction; only the database fallback takes connections
+    private List<ItemView> search(String keyword, SearchMode mode, int limit, long deadline) {
+        if (mode == SearchMode.SUBSTRING || !fullTextIndex.isReady()) {
+            return searchIndex.isReady() ? searchIndex.search(keyword, limit) : databaseSearch.search(keyword, limit, deadline);
+        }
+        return mode == SearchMode.FUZZY ? fullTextIndex.searchFuzzy(keyword, limit) : fullTextIndex.search(keyword, limit);
+    }
+
+    // Concurrent calls are coalesced by createBatcher into one batched insert and commit. The
+    // deadline starts at submission: a call that expires before its batch starts fails without
+    // being written, and one that made it into a batch waits for that batch's real outcome.
     public CompletableFuture<Item> createItemAsync(Item item) {
-        return CompletableFuture
-                .supplyAsync(() -> itemRepository.save(item))
-                .orTimeout(2, TimeUnit.SECONDS)
+        return createBatcher.submit(item, asyncProperties.timeoutFor("createItem"))
                 .exceptionally(ex -> {
                     logger.error("Async createItem failed: {}", ex.getMessage());
                     return null;
                 });
     }
-    
-    @Async("customAsyncExecutor")
+
+    // Both writes are a single statement; a zero row count means the item doesn't exist
     public CompletableFuture<Item> updateItemAsync(Long id, Item updated) {
-        return CompletableFuture
-                .supplyAsync(() -> {
-                    Optional<Item> existing = itemRepository.findById(id);
-                    if (existing.isEmpty()) {
-                        return null;  
-                    }
-                    Item item = existing.get();
-                    item.setName(updated.getName());
-                    item.setCategory(updated.getCategory());
-                    return itemRepository.save(item);
-                })
-                .orTimeout(2, TimeUnit.SECONDS)
-                .exceptionally(ex -> {
-                    logger.error("Async updateItem failed: {}", ex.getMessage());
-                    return null;
-                });
+        return runAsync("updateItem", false, () -> {
+            if (itemRepository.updateNameAndCategory(id, updated.getName(), updated.getCategory(),
+                    CaseFolding.fold(updated.getName()), CaseFolding.fold(updated.getCategory())) == 0) {
+                return null;
+            }
+            Item saved = new Item(updated.getName(), updated.getCategory());
+            saved.setId(id);
+            afterCommit(() -> {
+                itemCache.invalidate(id);
+                itemByIdFlight.forget(id);
+                invalidateListings(id, saved.getCategory());
+                searchIndex.put(saved);
+                fullTextIndex.put(saved);
+            });
+            return saved;
+        }, null);
     }
 
-    @Async("customAsyncExecutor")
     public CompletableFuture<Boolean> deleteItemAsync(Long id) {
-        return CompletableFuture
-                .supplyAsync(() -> {
-                    boolean exists = itemRepository.existsById(id);
-                    if (exists) {
-                        itemRepository.deleteById(id);
-                    }
-                    return exists;
-                })
-                .orTimeout(2, TimeUnit.SECONDS)
-                .exceptionally(ex -> {
-                    logger.error("Async deleteItem failed: {}", ex.getMessage());
-                    return false;
+        return runAsync("deleteItem", false, () -> {
+            boolean deleted = itemRepository.deleteItemById(id) > 0;
+            if (deleted) {
+                afterCommit(() -> {
+                    itemCache.invalidate(id);
+                    itemByIdFlight.forget(id);
+                    invalidateListings(id, null);
+                    searchIndex.remove(id);
+                    fullTextIndex.remove(id);
                 });
+            }
+            return deleted;
+        }, false);
     }
 
-    @Async("customAsyncExecutor")
     public CompletableFuture<String> getCombinedItemInfo(Long id) {
         CompletableFuture<Item> itemFuture = getItemByIdAsync(id);
-        CompletableFuture<List<Item>> relatedFuture = searchItemsAsync("DEFAULT_KEYWORD");
+        CompletableFuture<Long> relatedFuture = searchIndex.isReady()
+                ? CompletableFuture.completedFuture(relatedCount())
+                : runAsync("countRelated", true, () -> itemRepository
+                        .countByNameContainingIgnoreCaseOrCategoryContainingIgnoreCase(RELATED_KEYWORD, RELATED_KEYWORD), 0L);
 
         return itemFuture
-                .thenCombine(relatedFuture, (item, list) -> {
+                .thenCombine(relatedFuture, (item, count) -> {
                     if (item == null) {
                         return "Item not found";
                     }
-                    return "Item: " + item.getName() + " (related found: " + list.size() + ")";
+                    return "Item: " + item.getName() + " (related found: " + count + ")";
                 })
                 .exceptionally(ex -> {
                     logger.error("Async getCombinedItemInfo failed: {}", ex.getMessage());
                     return "Error fetching combined info";
                 });
     }
+
+    // Recounted from the index only after a write has changed it
+    private long relatedCount() {
+        long generation = searchIndex.generation();
+        RelatedCount memo = relatedCount;
+        if (memo == null || memo.generation() != generation) {
+            memo = new RelatedCount(generation, searchIndex.count(RELATED_KEYWORD));
+            relatedCount = memo;
+        }
+        return memo.count();
+    }
+
+    // Runs work once on customAsyncExecutor inside a transaction bounded by the operation's
+    // deadline, so Hibernate puts the remaining time on every JDBC statement as a query timeout.
+    // Read-only transactions skip dirty-checking snapshots and flushes for the rows they load.
+    // When the deadline fires first the caller gets the fallback, and work still queued never
+    // starts. Running work is not interrupted: an interrupt during JDBC I/O can close the
+    // driver's channels (H2 file stores), so the statement timeout ends it and the transaction
+    // rolls back, releasing the pooled connection and thread.
+    private <T> CompletableFuture<T> runAsync(String operation, boolean readOnly, Supplier<T> work, T fallback) {
+        return submitAsync(operation, deadline -> transactions.execute(deadline, readOnly, work), fallback);
+    }
+
+    // Same as runAsync, for work that opens its own transactions (if any) against the deadline it is given
+    private <T> CompletableFuture<T> submitAsync(String operation, LongFunction<T> work, T fallback) {
+        Duration timeout = asyncProperties.timeoutFor(operation);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = asyncExecutor.submit(() -> {
+            try {
+                result.complete(work.apply(deadline));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, ex) -> {
+                    if (ex instanceof TimeoutException) {
+                        task.cancel(false);
+                    }
+                })
+                .exceptionally(ex -> {
+                    logger.error("Async {} failed: {}", operation, ex.getMessage());
+                    return fallback;
+                });
+    }
+
+    // Batch function for loadBatcher: one IN query for the distinct ids of the batch, bounded by
+    // the earliest deadline among its callers
+    private List<Optional<Item>> loadCoalesced(List<Long> ids, long deadline) {
+        Map<Long, Item> found = transactions.execute(deadline, true,
+                () -> itemCache.loadAll(new LinkedHashSet<>(ids), this::findAllById));
+        return ids.stream().map(id -> Optional.ofNullable(found.get(id))).toList();
+    }
+
+    private Map<Long, Item> findAllById(Collection<Long> ids) {
+        return itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+
+    // Batch function for createBatcher, bounded by the earliest deadline among its callers. If the
+    // shared transaction rolled back, each item is retried on its own so one bad row only fails its
+    // own caller (with a null result). A failure once the commit was attempted fails the whole batch:
+    // the rows may have been written, and retrying would insert them twice.
+    private List<Item> insertCoalesced(List<Item> items, long deadline) {
+        // Stays rolled back if the transaction never starts
+        AtomicInteger outcome = new AtomicInteger(TransactionSynchronization.STATUS_ROLLED_BACK);
+        try {
+            return transactions.execute(deadline, false, () -> {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        outcome.set(status);
+                    }
+                });
+                return insertAll(items);
+            });
+        } catch (RuntimeException ex) {
+            if (items.size() == 1 || outcome.get() != TransactionSynchronization.STATUS_ROLLED_BACK) {
+                throw ex;
+            }
+            logger.warn("Batched createItem of {} items failed, retrying individually: {}", items.size(), ex.getMessage());
+        }
+        List<Item> saved = new ArrayList<>(items.size());
+        for (Item item : items) {
+            try {
+                saved.add(transactions.execute(deadline, false, () -> insertAll(List.of(item)).get(0)));
+            } catch (RuntimeException ex) {
+                logger.error("Async createItem failed: {}", ex.getMessage());
+                saved.add(null);
+            }
+        }
+        return saved;
+    }
+
+    // Inserts as JDBC batches, flushing and clearing the persistence context after each batch
+    // so it doesn't grow with the request size; index and cache see the rows after commit
+    private List<Item> insertAll(List<Item> items) {
+        List<Item> saved = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += jdbcBatchSize) {
+            List<Item> batch = items.subList(from, Math.min(from + jdbcBatchSize, items.size()));
+            batch.forEach(item -> item.setId(null));
+            saved.addAll(itemRepository.saveAll(batch));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        afterCommit(() -> {
+            listCache.invalidate(saved.stream().map(Item::getCategory).distinct().toArray(String[]::new));
+            saved.forEach(item -> {
+                searchIndex.put(item);
+                itemCache.put(item);
+            });
+            fullTextIndex.putAll(saved);
+        });
+        return saved;
+    }
+
+    // Drops the listings a write to id touched: its new category, the category the search index
+    // still has for it (so call this before updating the index), and the full listing
+    private void invalidateListings(Long id, String newCategory) {
+        if (!searchIndex.isReady()) {
+            listCache.invalidateAll();
+            return;
+        }
+        String oldCategory = searchIndex.find(id).map(Item::getCategory).orElse(null);
+        listCache.invalidate(oldCategory, newCategory);
+    }
+
+    // In-memory structures must only see committed rows. The action never throws: the write has
+    // already committed, so a failure can't be reported to the caller as one. If updating the
+    // indexes fails they no longer match the table, and searches fall back to the database.
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runCommitted(action);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runCommitted(action);
+            }
+        });
+    }
+
+    private void runCommitted(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException ex) {
+            logger.error("Updating the search indexes after a commit failed, taking them out of service", ex);
+            searchIndex.markStale();
+            fullTextIndex.markStale();
+        }
+    }
 }
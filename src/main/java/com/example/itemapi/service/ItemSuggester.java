@@ -0,0 +1,252 @@
+package com.example.itemapi.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.lucene.search.suggest.InputIterator;
+import org.apache.lucene.search.suggest.Lookup.LookupResult;
+import org.apache.lucene.search.suggest.fst.WFSTCompletionLookup;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.itemapi.model.CaseFolding;
+
+/**
+ * Prefix autocomplete over item names and categories, served from a weighted
+ * finite-state transducer (Lucene's WFSTCompletionLookup).
+ *
+ * Completions are the distinct case-folded values, weighted by how many items
+ * carry them; each is shown in its most common spelling. The FST is immutable,
+ * so it serves as a base and every write since it was built goes into a small
+ * sorted delta of changed values, merged in at lookup time: writes show up in
+ * completions as soon as they are indexed. A scheduled check rebuilds the base
+ * from {@link ItemSearchIndex} only once the delta holds more than
+ * {@code item.suggest.max-delta} values. Values added since the last rebuild
+ * are shown in their latest spelling until then.
+ */
+@Component
+public class ItemSuggester {
+
+    // Folded value changed since the base was built: its current weight and latest added spelling
+    private record Change(long weight, String spelling) {
+
+        Change plus(int delta, String added) {
+            return new Change(weight + delta, added != null ? added : spelling);
+        }
+    }
+
+    private record Snapshot(WFSTCompletionLookup lookup, Map<String, String> spellings,
+            ConcurrentSkipListMap<String, Change> delta) {
+
+        long baseWeight(String folded) {
+            Object weight = lookup.get(folded);
+            return weight != null ? ((Number) weight).longValue() : 0;
+        }
+    }
+
+    // Folded value with its total weight and most common spelling
+    private static final class Completion {
+        long weight;
+        String spelling;
+        long spellingCount;
+    }
+
+    private static final Comparator<LookupResult> BY_WEIGHT =
+            Comparator.<LookupResult>comparingLong(result -> result.value).reversed()
+                    .thenComparing(result -> result.key.toString());
+
+    private final ItemSearchIndex searchIndex;
+    private final int maxDelta;
+    private volatile Snapshot snapshot;
+    // Changes made after a rebuild read the index and before it was published; guarded by this
+    private ConcurrentSkipListMap<String, Change> pending;
+
+    public ItemSuggester(ItemSearchIndex searchIndex, @Value("${item.suggest.max-delta:500}") int maxDelta) {
+        this.searchIndex = searchIndex;
+        this.maxDelta = maxDelta;
+        searchIndex.setValueListener(this::changed);
+    }
+
+    // Up to limit completions of prefix, most common first; empty until the search index is built
+    public List<String> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return List.of();
+        }
+        String folded = CaseFolding.fold(prefix);
+        NavigableMap<String, Change> changed = current.delta().subMap(folded, true, folded + Character.MAX_VALUE, true);
+        List<LookupResult> merged = new ArrayList<>();
+        for (LookupResult result : baseResults(current, folded, limit)) {
+            if (!changed.containsKey(result.key.toString())) {
+                merged.add(result);
+            }
+        }
+        changed.forEach((value, change) -> {
+            if (change.weight() > 0) {
+                merged.add(new LookupResult(value, change.weight()));
+            }
+        });
+        merged.sort(BY_WEIGHT);
+
+        List<String> suggestions = new ArrayList<>(Math.min(limit, merged.size()));
+        for (LookupResult result : merged.subList(0, Math.min(limit, merged.size()))) {
+            String value = result.key.toString();
+            Change change = changed.get(value);
+            String spelling = current.spellings().get(value);
+            suggestions.add(spelling != null || change == null ? spelling : change.spelling());
+        }
+        return suggestions;
+    }
+
+    // Top base completions, enough of them to hold limit values the delta hasn't changed: changed
+    // values among the results are superseded by the delta, so fetch again with room for them
+    private static List<LookupResult> baseResults(Snapshot current, String folded, int limit) {
+        int fetch = limit;
+        while (true) {
+            List<LookupResult> results;
+            try {
+                results = current.lookup().lookup(folded, false, fetch);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int superseded = 0;
+            for (LookupResult result : results) {
+                if (current.delta().containsKey(result.key.toString())) {
+                    superseded++;
+                }
+            }
+            if (results.size() < fetch || results.size() - superseded >= limit) {
+                return results;
+            }
+            fetch = limit + superseded;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${item.suggest.refresh-interval:1s}")
+    public void refresh() {
+        Snapshot current = snapshot;
+        if (!searchIndex.isReady() || (current != null && current.delta().size() <= maxDelta)) {
+            return;
+        }
+        // Writes are held off while the values are read; later ones are recorded into pending
+        Map<String, Completion> completions = searchIndex.readValues(values -> {
+            Map<String, Long> counts = new HashMap<>();
+            values.filter(value -> !value.isEmpty()).forEach(value -> counts.merge(value, 1L, Long::sum));
+            synchronized (this) {
+                pending = new ConcurrentSkipListMap<>();
+            }
+            return completions(counts);
+        });
+        Map<String, String> spellings = new HashMap<>(completions.size() * 2);
+        completions.forEach((folded, completion) -> spellings.put(folded, completion.spelling));
+
+        WFSTCompletionLookup lookup = new WFSTCompletionLookup(new ByteBuffersDirectory(), "suggest");
+        try {
+            lookup.build(new CompletionIterator(completions.entrySet().iterator()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        synchronized (this) {
+            // Pending changes were recorded without a base; rebase them on the one just built
+            ConcurrentSkipListMap<String, Change> delta = new ConcurrentSkipListMap<>();
+            pending.forEach((folded, change) -> {
+                Completion completion = completions.get(folded);
+                long baseWeight = completion != null ? completion.weight : 0;
+                delta.put(folded, new Change(baseWeight + change.weight(), change.spelling()));
+            });
+            pending = null;
+            snapshot = new Snapshot(lookup, spellings, delta);
+        }
+    }
+
+    // Called by the search index under its write lock
+    private synchronized void changed(String value, int delta) {
+        Snapshot current = snapshot;
+        if (value.isEmpty() || (current == null && pending == null)) {
+            // Not built yet; the first refresh reads the value from the index
+            return;
+        }
+        String folded = CaseFolding.fold(value);
+        String spelling = delta > 0 ? value : null;
+        if (current != null) {
+            Change change = current.delta().get(folded);
+            if (change == null) {
+                change = new Change(current.baseWeight(folded), null);
+            }
+            current.delta().put(folded, change.plus(delta, spelling));
+        }
+        if (pending != null) {
+            pending.put(folded, pending.getOrDefault(folded, new Change(0, null)).plus(delta, spelling));
+        }
+    }
+
+    private static Map<String, Completion> completions(Map<String, Long> counts) {
+        Map<String, Completion> completions = new HashMap<>();
+        counts.forEach((value, count) -> {
+            Completion completion = completions.computeIfAbsent(CaseFolding.fold(value), k -> new Completion());
+            completion.weight += count;
+            if (count > completion.spellingCount) {
+                completion.spelling = value;
+                completion.spellingCount = count;
+            }
+        });
+        return completions;
+    }
+
+    private static final class CompletionIterator implements InputIterator {
+
+        private final Iterator<Map.Entry<String, Completion>> entries;
+        private long weight;
+
+        CompletionIterator(Iterator<Map.Entry<String, Completion>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public BytesRef next() {
+            if (!entries.hasNext()) {
+                return null;
+            }
+            Map.Entry<String, Completion> entry = entries.next();
+            weight = entry.getValue().weight;
+            return new BytesRef(entry.getKey());
+        }
+
+        @Override
+        public long weight() {
+            return weight;
+        }
+
+        @Override
+        public BytesRef payload() {
+            return null;
+        }
+
+        @Override
+        public boolean hasPayloads() {
+            return false;
+        }
+
+        @Override
+        public Set<BytesRef> contexts() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContexts() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.itemapi.service;
+
+import com.example.itemapi.model.CaseFolding;
+
+/**
+ * Case-insensitive substring matcher, compiled once per search keyword.
+ *
+ * The keyword is folded up front, and each scanned char is folded with
+ * {@link CaseFolding} as it is compared, so matching a row does not allocate.
+ */
+public final class KeywordMatcher {
+
+    private final char[] needle;
+
+    private KeywordMatcher(char[] needle) {
+        this.needle = needle;
+    }
+
+    public static KeywordMatcher compile(String keyword) {
+        return new KeywordMatcher(CaseFolding.fold(keyword).toCharArray());
+    }
+
+    public boolean matches(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        if (needle.length == 0) {
+            return true;
+        }
+        int last = text.length() - needle.length;
+        char first = needle[0];
+        for (int start = 0; start <= last; start++) {
+            if (CaseFolding.fold(text.charAt(start)) != first) {
+                continue;
+            }
+            int i = 1;
+            while (i < needle.length && CaseFolding.fold(text.charAt(start + i)) == needle[i]) {
+                i++;
+            }
+            if (i == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
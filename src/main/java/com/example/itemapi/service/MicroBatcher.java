@@ -0,0 +1,178 @@
+package com.example.itemapi.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces concurrent submissions into batches of up to {@code maxBatchSize},
+ * waiting at most {@code maxDelay} after the first one arrives.
+ *
+ * A single collector thread forms the batches; each batch is then run on the
+ * given executor, and every submitter's future is completed with the result at
+ * its own position in the list returned by the batch function. At most
+ * {@code maxInFlight} batches are handed to the executor at a time; while they
+ * run, new submissions queue up and go out together as the next, larger batch.
+ *
+ * Every submission carries its own deadline, taken when it is submitted. A
+ * submission either expires before its batch starts, failing with a
+ * {@link TimeoutException} without ever reaching the batch function, or is
+ * claimed by the batch and completed with the batch's real outcome. The batch
+ * function gets the earliest deadline of the submissions it was given.
+ */
+public class MicroBatcher<T, R> implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface BatchFunction<T, R> {
+        // deadline is a System.nanoTime() value
+        List<R> apply(List<T> inputs, long deadline);
+    }
+
+    private record Pending<T, R>(T input, long deadline, CompletableFuture<R> result, AtomicBoolean settled) {
+
+        // Exactly one of claim and expire succeeds
+        boolean claim() {
+            return settled.compareAndSet(false, true);
+        }
+
+        void expire() {
+            if (settled.compareAndSet(false, true)) {
+                result.completeExceptionally(new TimeoutException("Expired before its batch started"));
+            }
+        }
+    }
+
+    private final BatchFunction<T, R> batchFunction;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Semaphore inFlight;
+    private final BlockingQueue<Pending<T, R>> queue = new LinkedBlockingQueue<>();
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    public MicroBatcher(String name, BatchFunction<T, R> batchFunction, Executor executor,
+            int maxBatchSize, Duration maxDelay, int maxInFlight) {
+        this.batchFunction = batchFunction;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.collector = new Thread(this::collect, name + "-batcher");
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    public CompletableFuture<R> submit(T input, Duration timeout) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        if (!running) {
+            result.completeExceptionally(new IllegalStateException("Batcher is closed"));
+            return result;
+        }
+        Pending<T, R> pending = new Pending<>(input, System.nanoTime() + timeout.toNanos(), result, new AtomicBoolean());
+        CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS, Runnable::run)
+                .execute(pending::expire);
+        queue.add(pending);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        collector.interrupt();
+        List<Pending<T, R>> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(p -> p.result().completeExceptionally(new IllegalStateException("Batcher is closed")));
+    }
+
+    private void collect() {
+        while (running) {
+            Pending<T, R> first;
+            try {
+                first = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            List<Pending<T, R>> batch = new ArrayList<>(maxBatchSize);
+            batch.add(first);
+            long deadline = System.nanoTime() + maxDelayNanos;
+            try {
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T, R> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                fail(batch, new IllegalStateException("Batcher is closed"));
+                return;
+            }
+            // Whatever arrived while waiting for a slot goes out with this batch
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<Pending<T, R>> batch) {
+        try {
+            executor.execute(() -> {
+                try {
+                    run(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.release();
+            fail(batch, ex);
+        }
+    }
+
+    private static <T, R> void fail(List<Pending<T, R>> batch, Throwable ex) {
+        batch.forEach(p -> {
+            if (p.claim()) {
+                p.result().completeExceptionally(ex);
+            }
+        });
+    }
+
+    private void run(List<Pending<T, R>> batch) {
+        // Claim what has not expired yet; from here on only the batch completes these futures
+        long now = System.nanoTime();
+        List<Pending<T, R>> claimed = new ArrayList<>(batch.size());
+        long deadline = 0;
+        for (Pending<T, R> pending : batch) {
+            if (pending.deadline() - now <= 0) {
+                pending.expire();
+            } else if (pending.claim()) {
+                if (claimed.isEmpty() || pending.deadline() - deadline < 0) {
+                    deadline = pending.deadline();
+                }
+                claimed.add(pending);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            List<R> results = batchFunction.apply(claimed.stream().map(Pending::input).toList(), deadline);
+            for (int i = 0; i < claimed.size(); i++) {
+                claimed.get(i).result().complete(results.get(i));
+            }
+        } catch (Throwable ex) {
+            claimed.forEach(p -> p.result().completeExceptionally(ex));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.itemapi.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.itemapi.model.Item;
+import com.example.itemapi.repository.ItemRepository;
+
+/**
+ * Fills name_norm and category_norm for rows written before those columns
+ * existed, so database-side search sees them. New writes set the columns
+ * themselves; once every row is filled this finds nothing to do.
+ *
+ * Runs at startup in keyset pages, one transaction per page, flushed as
+ * JDBC update batches.
+ */
+@Component
+public class NormalizedColumnsBackfill implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(NormalizedColumnsBackfill.class);
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transaction;
+
+    public NormalizedColumnsBackfill(ItemRepository itemRepository, PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long after = 0;
+        long filled = 0;
+        List<Item> page;
+        do {
+            long from = after;
+            page = transaction.execute(status -> {
+                List<Item> rows = itemRepository.findUnnormalizedAfter(from, Limit.of(PAGE_SIZE));
+                rows.forEach(Item::updateNormalized);
+                return rows;
+            });
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+                filled += page.size();
+            }
+        } while (page.size() == PAGE_SIZE);
+        if (filled > 0) {
+            logger.info("Backfilled normalized search columns for {} items", filled);
+        }
+    }
+}
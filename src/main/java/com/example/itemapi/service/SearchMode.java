@@ -0,0 +1,11 @@
+package com.example.itemapi.service;
+
+// How searchItemsAsync matches its keyword
+public enum SearchMode {
+    // Case-insensitive substring of the name or category, ordered by id
+    SUBSTRING,
+    // Words of the keyword against the full-text index, best BM25 matches first
+    RANKED,
+    // Words of the keyword against item names, allowing one or two typos per word, best matches first
+    FUZZY
+}
@@ -0,0 +1,95 @@
+package com.example.itemapi.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lets concurrent callers asking for the same key share one in-flight call.
+ *
+ * The first caller for a key runs the call; everyone arriving while it is in
+ * flight gets the same result (or failure). A flight is forgotten before it
+ * completes, so later callers always start a fresh call. Joined calls are
+ * counted in the {@code items.singleflight.collapsed} metric.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter collapsed;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.collapsed = Counter.builder("items.singleflight.collapsed")
+                .description("Calls that joined an in-flight call for the same key")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    // Blocking variant: the leader runs the call on its own thread
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            collapsed.increment();
+            return join(existing);
+        }
+        V value;
+        try {
+            value = call.get();
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(value);
+        return value;
+    }
+
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            collapsed.increment();
+            return existing;
+        }
+        try {
+            call.get().whenComplete((value, ex) -> {
+                inFlight.remove(key, flight);
+                if (ex != null) {
+                    flight.completeExceptionally(ex);
+                } else {
+                    flight.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+        }
+        return flight;
+    }
+
+    // After a write, make later callers start a fresh call instead of joining one that may
+    // have read the old row; callers already waiting still get that flight's result
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.itemapi.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+// Load test of the two customAsyncExecutor modes: 50 concurrent callers, each submitting an
+// operation that blocks for 2ms as a JDBC round trip would. platform is the 5-10 thread pool,
+// virtual the virtual-thread executor limited to the connection pool size (10). virtual needs a
+// Java 21+ runtime and fails its setup on older ones.
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(50)
+@Fork(1)
+public class AsyncExecutorBenchmark {
+
+	private static final int MAX_CONNECTIONS = 10;
+	private static final long BLOCKED_MILLIS = 2;
+
+	@Param({ "platform", "virtual" })
+	String threads;
+
+	private AsyncTaskExecutor executor;
+
+	@Setup
+	public void setUp() {
+		WebConfig config = new WebConfig();
+		executor = threads.equals("virtual")
+				? config.customAsyncVirtualExecutor(MAX_CONNECTIONS)
+				: config.customAsyncExecutor();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		if (executor instanceof DisposableBean disposable) {
+			disposable.destroy();
+		}
+	}
+
+	@Benchmark
+	public Boolean blockingOperation() {
+		CompletableFuture<Boolean> result = new CompletableFuture<>();
+		executor.submit(() -> {
+			try {
+				Thread.sleep(BLOCKED_MILLIS);
+				result.complete(true);
+			} catch (Throwable ex) {
+				result.completeExceptionally(ex);
+			}
+		});
+		return result.join();
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.example.itemapi.model;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Heap retained by a million loaded items. Each row's category arrives as a fresh String, as it does
+// from JDBC, and is either kept as read or passed through CategoryConverter like Hibernate does.
+// The retainedBytes counter is the heap in use after GC with the items reachable, minus the baseline
+// (one measured load, since JMH sums event counters across iterations).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CategoryDictionaryBenchmark {
+
+	private static final String[] CATEGORIES = { "Electronics", "Books", "Garden", "Toys", "Kitchen" };
+
+	@Param("1000000")
+	int items;
+
+	@Param({ "true", "false" })
+	boolean dictionary;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Footprint {
+
+		public long retainedBytes;
+		long baseline;
+
+		@Setup(Level.Iteration)
+		public void setUp() {
+			baseline = usedAfterGc();
+		}
+	}
+
+	private final CategoryConverter converter = new CategoryConverter();
+
+	@Benchmark
+	public List<Item> load(Footprint footprint) {
+		List<Item> loaded = new ArrayList<>(items);
+		for (int i = 0; i < items; i++) {
+			String category = new String(CATEGORIES[i % CATEGORIES.length].toCharArray());
+			Item item = new Item("Product " + i, dictionary ? converter.convertToEntityAttribute(category) : category);
+			item.setId((long) i);
+			loaded.add(item);
+		}
+		footprint.retainedBytes = usedAfterGc() - footprint.baseline;
+		return loaded;
+	}
+
+	private static long usedAfterGc() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++) {
+			memory.gc();
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+}
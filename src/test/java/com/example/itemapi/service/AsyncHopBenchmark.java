@@ -0,0 +1,77 @@
+package com.example.itemapi.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.itemapi.config.WebConfig;
+
+// Latency of one async operation on customAsyncExecutor, 8 callers at a time. doubleHop is the old
+// @Async method (Spring's interceptor runs it on the pool and blocks there on the returned future)
+// that called supplyAsync without an executor, so the work ran on the common pool; singleHop is
+// ItemService.submitAsync. Sample mode reports percentiles; add -prof perfnorm where perf is
+// available for context switches per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AsyncHopBenchmark {
+
+	private static final long WORK_TOKENS = 2_000;
+
+	private AsyncTaskExecutor executor;
+
+	@Setup
+	public void setUp() {
+		executor = new WebConfig().customAsyncExecutor();
+	}
+
+	@TearDown
+	public void tearDown() {
+		((ThreadPoolTaskExecutor) executor).shutdown();
+	}
+
+	@Benchmark
+	public Long doubleHop() {
+		return CompletableFuture.supplyAsync(() -> CompletableFuture.supplyAsync(AsyncHopBenchmark::work).join(), executor)
+				.join();
+	}
+
+	@Benchmark
+	public Long singleHop() {
+		CompletableFuture<Long> result = new CompletableFuture<>();
+		executor.submit(() -> {
+			try {
+				result.complete(work());
+			} catch (Throwable ex) {
+				result.completeExceptionally(ex);
+			}
+		});
+		return result.join();
+	}
+
+	// Stands in for a short repository call
+	private static Long work() {
+		Blackhole.consumeCPU(WORK_TOKENS);
+		return WORK_TOKENS;
+	}
+
+}
@@ -0,0 +1,134 @@
+package com.example.itemapi.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.repository.ItemRepository;
+
+// FUZZY search over a million item names: the Levenshtein automaton in ItemFullTextIndex against
+// scanning every name word with a bounded edit distance. Setup indexes the rows and takes a while.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class FuzzySearchBenchmark {
+
+	private static final int ROWS = 1_000_000;
+	private static final int LIMIT = 20;
+	private static final String[] ADJECTIVES = { "Deluxe", "Basic", "Compact", "Premium", "Rugged", "Classic" };
+	private static final String[] NOUNS = { "Widget", "Gadget", "Blender", "Lantern", "Backpack", "Kettle", "Drill" };
+	private static final String[] CATEGORIES = { "Electronics", "Books", "Garden", "Toys", "Kitchen" };
+
+	// Each a transposition or substitution away from an indexed word
+	@Param({ "widgte", "lanterm", "kettel" })
+	String query;
+
+	private String[] names;
+	private Path directory;
+	private ItemFullTextIndex index;
+
+	@Setup
+	public void setUp() throws IOException {
+		names = new String[ROWS];
+		for (int i = 0; i < ROWS; i++) {
+			names[i] = ADJECTIVES[i % ADJECTIVES.length] + " " + NOUNS[(i / 7) % NOUNS.length] + " " + i;
+		}
+		ItemRepository repository = mock(ItemRepository.class);
+		when(repository.findViewsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+			long after = invocation.getArgument(0);
+			int limit = invocation.<Limit>getArgument(1).max();
+			List<ItemView> page = new ArrayList<>(limit);
+			for (long id = after + 1; id <= ROWS && page.size() < limit; id++) {
+				page.add(new ItemView(id, names[(int) id - 1], CATEGORIES[(int) id % CATEGORIES.length]));
+			}
+			return page;
+		});
+		directory = Files.createTempDirectory("fuzzy-benchmark");
+		index = new ItemFullTextIndex(repository, directory);
+		index.rebuild();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		index.close();
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public List<ItemView> fullTextIndex() {
+		return index.searchFuzzy(query, LIMIT);
+	}
+
+	@Benchmark
+	public int scan() {
+		// Same edit budget as ItemFullTextIndex for words of this length
+		int maxEdits = query.length() <= 5 ? 1 : 2;
+		int matches = 0;
+		for (String name : names) {
+			for (String word : name.toLowerCase(Locale.ROOT).split(" ")) {
+				if (editDistance(word, query, maxEdits) <= maxEdits) {
+					matches++;
+					break;
+				}
+			}
+		}
+		return matches;
+	}
+
+	// Optimal string alignment distance (adjacent transpositions count as one edit, as in FuzzyQuery),
+	// or maxEdits + 1 once it is certain to exceed maxEdits
+	private static int editDistance(String a, String b, int maxEdits) {
+		if (Math.abs(a.length() - b.length()) > maxEdits) {
+			return maxEdits + 1;
+		}
+		int[][] d = new int[a.length() + 1][b.length() + 1];
+		for (int i = 0; i <= a.length(); i++) {
+			d[i][0] = i;
+		}
+		for (int j = 0; j <= b.length(); j++) {
+			d[0][j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			for (int j = 1; j <= b.length(); j++) {
+				int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+				d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+				if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+					d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+				}
+			}
+		}
+		return d[a.length()][b.length()];
+	}
+
+}
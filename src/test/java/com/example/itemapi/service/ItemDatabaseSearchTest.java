@@ -0,0 +1,124 @@
+package com.example.itemapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.itemapi.config.ItemAsyncProperties;
+import com.example.itemapi.model.Item;
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.repository.ItemRepository;
+
+// Not transactional: the scan runs its chunks on other threads, which only see committed rows
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ItemDatabaseSearch.class, DeadlineTransactions.class, ItemDatabaseSearchTest.ScanConfig.class })
+@TestPropertySource(properties = { "item.async.scan.parallelism=3", "item.async.scan.min-chunk-size=10" })
+class ItemDatabaseSearchTest {
+
+	@TestConfiguration
+	@EnableConfigurationProperties(ItemAsyncProperties.class)
+	static class ScanConfig {
+
+		@Bean(name = "itemScanExecutor")
+		AsyncTaskExecutor itemScanExecutor() {
+			ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+			executor.setCorePoolSize(3);
+			executor.setThreadNamePrefix("test-scan-");
+			return executor;
+		}
+	}
+
+	@Autowired
+	private ItemDatabaseSearch search;
+
+	@Autowired
+	private ItemRepository itemRepository;
+
+	@AfterEach
+	void tearDown() {
+		itemRepository.deleteAll();
+	}
+
+	@Test
+	void matchesWildcardAndEscapeCharactersLiterally() {
+		Long percent = save("100% Cotton", "Shirts");
+		save("100 Percent Wool", "Shirts");
+		Long underscore = save("a_b", "Misc");
+		save("axb", "Misc");
+		Long bang = save("Wow!", "Toys");
+		save("Wow", "Toys");
+
+		assertThat(ids(search("100%"))).containsExactly(percent);
+		assertThat(ids(search("% cot"))).containsExactly(percent);
+		assertThat(ids(search("a_"))).containsExactly(underscore);
+		assertThat(ids(search("_b"))).containsExactly(underscore);
+		assertThat(ids(search("wow!"))).containsExactly(bang);
+		assertThat(ids(search("!"))).containsExactly(bang);
+	}
+
+	@Test
+	void returnsPrefixMatchesBeforeOtherMatches() {
+		Long containsName = save("Red Apple", "Fruit");
+		Long prefixName = save("Apple Pie", "Dessert");
+		Long containsCategory = save("Cider", "Pineapple Drinks");
+		Long prefixCategory = save("Granny Smith", "Apples");
+		Long both = save("Apple", "Apples");
+		save("Carrot", "Vegetable");
+
+		assertThat(ids(search("APPLE", 10)))
+				.containsExactly(prefixName, prefixCategory, both, containsName, containsCategory);
+		// Enough prefix matches: the contains scan never runs
+		assertThat(ids(search("apple", 2))).containsExactly(prefixName, prefixCategory);
+		assertThat(ids(search("apple", 4))).containsExactly(prefixName, prefixCategory, both, containsName);
+	}
+
+	@Test
+	void mergesScannedChunksInIdOrderUpToTheLimit() {
+		List<Long> matching = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Long id = save(i % 3 == 0 ? "Item " + i + " match" : "Item " + i, "Bulk");
+			if (i % 3 == 0) {
+				matching.add(id);
+			}
+		}
+
+		// 100 rows in chunks of at least 10, scanned by 3 threads
+		assertThat(ids(search("match", 100))).containsExactlyElementsOf(matching);
+		assertThat(ids(search("match", 5))).containsExactlyElementsOf(matching.subList(0, 5));
+		assertThat(ids(search("match", 20))).containsExactlyElementsOf(matching.subList(0, 20));
+	}
+
+	private List<ItemView> search(String keyword) {
+		return search(keyword, 10);
+	}
+
+	private List<ItemView> search(String keyword, int limit) {
+		return search.search(keyword, limit, System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+	}
+
+	private Long save(String name, String category) {
+		return itemRepository.save(new Item(name, category)).getId();
+	}
+
+	private static List<Long> ids(List<ItemView> items) {
+		return items.stream().map(ItemView::id).toList();
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.example.itemapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+
+import com.example.itemapi.model.Item;
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.repository.ItemRepository;
+
+class ItemFullTextIndexTest {
+
+	@TempDir
+	Path directory;
+
+	private ItemRepository repository;
+	private ItemFullTextIndex index;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(ItemRepository.class);
+		index = new ItemFullTextIndex(repository, directory);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		index.close();
+	}
+
+	@Test
+	void ranksNameMatchesAboveCategoryMatches() {
+		rebuild(new ItemView(1L, "Fruit Basket", "Apple"),
+				new ItemView(2L, "Apple Pie", "Dessert"),
+				new ItemView(3L, "Red Apple", "Fruit"),
+				new ItemView(4L, "Carrot", "Vegetable"));
+
+		assertThat(ids(index.search("apple", 10)).subList(0, 2)).containsExactlyInAnyOrder(2L, 3L);
+		assertThat(ids(index.search("apple", 10))).hasSize(3).endsWith(1L);
+		assertThat(ids(index.search("red apple", 10))).startsWith(3L);
+		assertThat(ids(index.search("APPLE", 1))).hasSize(1);
+		assertThat(index.search("...", 10)).isEmpty();
+	}
+
+	@Test
+	void followsUpdatesAndDeletesAfterARefresh() {
+		rebuild(new ItemView(1L, "Apple Pie", "Dessert"), new ItemView(2L, "Red Apple", "Fruit"));
+
+		index.put(item(2L, "Green Pear", "Fruit"));
+		index.remove(1L);
+		// Writes are visible only once the searcher is reopened
+		assertThat(ids(index.search("apple", 10))).containsExactly(1L, 2L);
+
+		index.refresh();
+		assertThat(index.search("apple", 10)).isEmpty();
+		assertThat(index.search("green", 10)).containsExactly(new ItemView(2L, "Green Pear", "Fruit"));
+	}
+
+	@Test
+	void keepsWritesMadeWhileTheRebuildIsRunning() {
+		// The rows are read before these writes commit, so the page is already out of date
+		when(repository.findViewsAfter(0L, Limit.of(1000))).thenAnswer(invocation -> {
+			index.put(item(1L, "Fresh Name", "Fruit"));
+			index.remove(2L);
+			return List.of(new ItemView(1L, "Stale Name", "Fruit"), new ItemView(2L, "Deleted", "Fruit"));
+		});
+
+		index.rebuild();
+
+		assertThat(index.isReady()).isTrue();
+		assertThat(ids(index.search("fresh", 10))).containsExactly(1L);
+		assertThat(index.search("stale", 10)).isEmpty();
+		assertThat(index.search("deleted", 10)).isEmpty();
+	}
+
+	@Test
+	void becomesReadyOnlyOnceTheRebuiltDocumentsAreSearchable() {
+		List<ItemView> page = new ArrayList<>();
+		for (long id = 1; id <= 999; id++) {
+			page.add(new ItemView(id, "Widget " + id, "Tools"));
+		}
+		when(repository.findViewsAfter(0L, Limit.of(1000))).thenReturn(page);
+
+		CompletableFuture<List<ItemView>> firstReadySearch = CompletableFuture.supplyAsync(() -> {
+			while (!index.isReady()) {
+				Thread.onSpinWait();
+			}
+			return index.search("widget", 10);
+		});
+		assertThat(index.isReady()).isFalse();
+		index.rebuild();
+
+		assertThat(firstReadySearch.join()).hasSize(10);
+	}
+
+	@Test
+	void allowsMoreTyposInLongerWords() {
+		rebuild(new ItemView(1L, "Apple", "Fruit"),
+				new ItemView(2L, "TV Stand", "Furniture"),
+				new ItemView(3L, "Basket", "Storage"));
+
+		// Up to 5 chars: one edit
+		assertThat(ids(index.searchFuzzy("aple", 10))).containsExactly(1L);
+		assertThat(index.searchFuzzy("aplx", 10)).isEmpty();
+		// Up to 2 chars: exact only
+		assertThat(ids(index.searchFuzzy("tv", 10))).containsExactly(2L);
+		assertThat(index.searchFuzzy("tc", 10)).isEmpty();
+		// 6 chars and more: two edits
+		assertThat(ids(index.searchFuzzy("bazkot", 10))).containsExactly(3L);
+		assertThat(index.searchFuzzy("bazkoz", 10)).isEmpty();
+		// Names only
+		assertThat(index.searchFuzzy("fruit", 10)).isEmpty();
+	}
+
+	private void rebuild(ItemView... items) {
+		when(repository.findViewsAfter(0L, Limit.of(1000))).thenReturn(List.of(items));
+		index.rebuild();
+	}
+
+	private static Item item(Long id, String name, String category) {
+		Item item = new Item(name, category);
+		item.setId(id);
+		return item;
+	}
+
+	private static List<Long> ids(List<ItemView> items) {
+		return items.stream().map(ItemView::id).toList();
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.example.itemapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.itemapi.model.Item;
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.repository.ItemRepository;
+
+class ItemSearchIndexTest {
+
+	private ItemSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ItemSearchIndex(mock(ItemRepository.class));
+		index.put(item(1L, "Red Apple", "Fruit"));
+		index.put(item(2L, "Green Apple", "Fruit"));
+		index.put(item(3L, "Carrot", "Vegetable"));
+	}
+
+	@Test
+	void matchesSubstringsOfNameAndCategoryIgnoringCase() {
+		assertThat(ids(index.search("APPLE"))).containsExactly(1L, 2L);
+		assertThat(ids(index.search("getab"))).containsExactly(3L);
+		assertThat(ids(index.search("rrot"))).containsExactly(3L);
+	}
+
+	@Test
+	void matchesShortKeywordsAnywhereInTheField() {
+		assertThat(ids(index.search("c"))).containsExactly(3L);
+		assertThat(ids(index.search("le"))).containsExactly(1L, 2L, 3L);
+		assertThat(ids(index.search(""))).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void stopsAtTheLimitInIdOrder() {
+		index.put(item(4L, "Apple Pie", "Dessert"));
+
+		assertThat(ids(index.search("apple", 2))).containsExactly(1L, 2L);
+		assertThat(ids(index.search("e", 3))).containsExactly(1L, 2L, 3L);
+		assertThat(ids(index.search("", 1))).containsExactly(1L);
+	}
+
+	@Test
+	void rejectsGramsThatAreNotContiguous() {
+		// "red" and "fru" are both indexed for item 1, but not as one substring
+		assertThat(index.search("redfru")).isEmpty();
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		index.put(item(1L, "Red Pepper", "Vegetable"));
+		index.remove(2L);
+
+		assertThat(index.search("apple")).isEmpty();
+		assertThat(ids(index.search("veg"))).containsExactly(1L, 3L);
+	}
+
+	@Test
+	void reportsValueChanges() {
+		List<String> changes = new ArrayList<>();
+		index.setValueListener((value, delta) -> changes.add(value + " " + delta));
+
+		index.put(item(2L, "Red Apple", "Vegetable"));
+		index.remove(3L);
+
+		assertThat(changes).containsExactly("Green Apple -1", "Fruit -1", "Red Apple 1", "Vegetable 1",
+				"Carrot -1", "Vegetable -1");
+		List<String> values = index.readValues(stream -> stream.sorted().toList());
+		assertThat(values).containsExactly("Fruit", "Red Apple", "Red Apple", "Vegetable");
+	}
+
+	private static Item item(Long id, String name, String category) {
+		Item item = new Item(name, category);
+		item.setId(id);
+		return item;
+	}
+
+	private static List<Long> ids(List<ItemView> items) {
+		return items.stream().map(ItemView::id).toList();
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.example.itemapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.itemapi.model.Item;
+import com.example.itemapi.repository.ItemRepository;
+
+// Not transactional: altering the sequence commits in H2
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ItemSequenceSeeder.class)
+class ItemSequenceSeederTest {
+
+	@Autowired
+	private ItemSequenceSeeder seeder;
+
+	@Autowired
+	private ItemRepository itemRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		itemRepository.deleteAll();
+	}
+
+	@Test
+	void movesTheSequencePastExistingIds() {
+		// Rows written by the old IDENTITY column, and a sequence created fresh by ddl-auto
+		for (long id = 1; id <= 120; id++) {
+			jdbcTemplate.update("insert into items (id, name, category) values (?, ?, ?)", id, "Legacy " + id, "Old");
+		}
+		jdbcTemplate.execute("alter sequence items_seq restart with 1");
+
+		seeder.seed();
+		seeder.seed();
+
+		for (int i = 0; i < 60; i++) {
+			assertThat(itemRepository.save(new Item("New " + i, "New")).getId()).isGreaterThan(120L);
+		}
+		assertThat(itemRepository.count()).isEqualTo(180);
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.example.itemapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.example.itemapi.model.Item;
+import com.example.itemapi.repository.ItemRepository;
+
+// A long batching window, so the concurrent creates below share one transaction
+@SpringBootTest
+@TestPropertySource(properties = "item.async.create-batch.max-delay=200ms")
+class ItemServiceTest {
+
+	@Autowired
+	private ItemService itemService;
+
+	@Autowired
+	private ItemRepository itemRepository;
+
+	@Autowired
+	private ItemSearchIndex searchIndex;
+
+	@MockitoBean
+	private ItemFullTextIndex fullTextIndex;
+
+	@Test
+	void retriesItemsOfARolledBackBatchIndividually() {
+		// Too long for the name column, so the shared insert fails
+		List<CompletableFuture<Item>> created = createAll("rollback-ok-1", "x".repeat(300), "rollback-ok-2");
+
+		assertThat(created.get(0).join().getId()).isNotNull();
+		assertThat(created.get(1).join()).isNull();
+		assertThat(created.get(2).join().getId()).isNotNull();
+		assertThat(itemRepository.findByName("rollback-ok-1")).hasSize(1);
+		assertThat(itemRepository.findByName("rollback-ok-2")).hasSize(1);
+	}
+
+	@Test
+	void doesNotInsertAgainWhenIndexingFailsAfterTheCommit() {
+		doThrow(new UncheckedIOException(new IOException("disk full"))).when(fullTextIndex).putAll(any());
+
+		List<CompletableFuture<Item>> created = createAll("indexed-1", "indexed-2", "indexed-3");
+
+		for (CompletableFuture<Item> item : created) {
+			assertThat(item.join().getId()).isNotNull();
+		}
+		assertThat(itemRepository.findByName("indexed-1")).hasSize(1);
+		assertThat(itemRepository.findByName("indexed-2")).hasSize(1);
+		assertThat(itemRepository.findByName("indexed-3")).hasSize(1);
+		verify(fullTextIndex).markStale();
+		assertThat(searchIndex.isReady()).isFalse();
+	}
+
+	private List<CompletableFuture<Item>> createAll(String... names) {
+		return List.of(names).stream().map(name -> itemService.createItemAsync(new Item(name, "Test"))).toList();
+	}
+
+}
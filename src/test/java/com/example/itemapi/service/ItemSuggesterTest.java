@@ -0,0 +1,87 @@
+package com.example.itemapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import com.example.itemapi.model.Item;
+import com.example.itemapi.model.ItemView;
+import com.example.itemapi.repository.ItemRepository;
+
+class ItemSuggesterTest {
+
+	private ItemSearchIndex index;
+	private ItemSuggester suggester;
+
+	@BeforeEach
+	void setUp() {
+		ItemRepository repository = mock(ItemRepository.class);
+		when(repository.findViewsAfter(0L, Limit.of(1000))).thenReturn(List.of(
+				new ItemView(1L, "Red Apple", "Fruit"),
+				new ItemView(2L, "red apple", "Fruit"),
+				new ItemView(3L, "Red Apple", "Fresh Fruit"),
+				new ItemView(4L, "Radish", "Vegetable")));
+		index = new ItemSearchIndex(repository);
+		suggester = new ItemSuggester(index, 2);
+		index.rebuild();
+		suggester.refresh();
+	}
+
+	@Test
+	void suggestsMostCommonValuesInTheirMostCommonSpelling() {
+		assertThat(suggester.suggest("r", 10)).containsExactly("Red Apple", "Radish");
+		assertThat(suggester.suggest("FR", 10)).containsExactly("Fruit", "Fresh Fruit");
+		assertThat(suggester.suggest("r", 1)).containsExactly("Red Apple");
+	}
+
+	@Test
+	void mergesWritesBeforeTheBaseIsRebuilt() {
+		index.put(item(5L, "Radish", "Vegetable"));
+		index.put(item(6L, "Radish", "Vegetable"));
+		index.put(item(7L, "Rhubarb", "Vegetable"));
+		index.remove(3L);
+
+		// Radish 3, Red Apple 2 and Rhubarb 1, and Fresh Fruit has no items left
+		assertThat(suggester.suggest("r", 10)).containsExactly("Radish", "Red Apple", "Rhubarb");
+		assertThat(suggester.suggest("fr", 10)).containsExactly("Fruit");
+		assertThat(suggester.suggest("r", 2)).containsExactly("Radish", "Red Apple");
+	}
+
+	@Test
+	void looksPastBaseResultsTheDeltaRemoved() {
+		index.remove(1L);
+		index.remove(2L);
+		index.remove(3L);
+
+		assertThat(suggester.suggest("r", 1)).containsExactly("Radish");
+		assertThat(suggester.suggest("f", 1)).isEmpty();
+	}
+
+	@Test
+	void rebuildsTheBaseOnlyOnceTheDeltaIsLarge() {
+		index.put(item(5L, "rhubarb", "Vegetable"));
+		index.put(item(6L, "Rhubarb", "Vegetable"));
+		suggester.refresh();
+		// Two changed values (rhubarb, vegetable): still merged from the delta, in the latest spelling
+		assertThat(suggester.suggest("rh", 10)).containsExactly("Rhubarb");
+
+		index.put(item(7L, "rhubarb", "Roots"));
+		suggester.refresh();
+		// Rebuilt from the index, in the most common spelling
+		assertThat(suggester.suggest("rh", 10)).containsExactly("rhubarb");
+		assertThat(suggester.suggest("ro", 10)).containsExactly("Roots");
+	}
+
+	private static Item item(Long id, String name, String category) {
+		Item item = new Item(name, category);
+		item.setId(id);
+		return item;
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.example.itemapi.service;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Filtering 10k rows by keyword, KeywordMatcher against the lower-casing filter it replaced.
+// Run with -prof gc and compare gc.alloc.rate.norm (bytes per filtered batch).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordMatcherBenchmark {
+
+	private static final String[] CATEGORIES = { "Electronics", "Books", "Garden", "Toys", "Kitchen" };
+
+	@Param({ "widget", "DELUXE 42" })
+	String keyword;
+
+	private String[] names;
+	private String[] categories;
+
+	@Setup
+	public void setUp() {
+		names = new String[10_000];
+		categories = new String[names.length];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = "Product " + i + (i % 3 == 0 ? " Deluxe Widget" : " Basic Gadget");
+			categories[i] = CATEGORIES[i % CATEGORIES.length];
+		}
+	}
+
+	@Benchmark
+	public int keywordMatcher() {
+		KeywordMatcher matcher = KeywordMatcher.compile(keyword);
+		int matches = 0;
+		for (int i = 0; i < names.length; i++) {
+			if (matcher.matches(names[i]) || matcher.matches(categories[i])) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+
+	@Benchmark
+	public int toLowerCaseContains() {
+		int matches = 0;
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].toLowerCase(Locale.ROOT).contains(keyword.toLowerCase(Locale.ROOT))
+					|| categories[i].toLowerCase(Locale.ROOT).contains(keyword.toLowerCase(Locale.ROOT))) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.example.itemapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class KeywordMatcherTest {
+
+	@Test
+	void matchesSubstringsIgnoringCase() {
+		KeywordMatcher matcher = KeywordMatcher.compile("aPPle");
+
+		assertThat(matcher.matches("Green Apple")).isTrue();
+		assertThat(matcher.matches("APPLES")).isTrue();
+		assertThat(matcher.matches("Appl")).isFalse();
+		assertThat(matcher.matches("Pineapplx")).isFalse();
+		assertThat(matcher.matches(null)).isFalse();
+	}
+
+	@Test
+	void foldsNonAsciiCharacters() {
+		assertThat(KeywordMatcher.compile("ÄPFEL").matches("Grüne äpfel")).isTrue();
+		assertThat(KeywordMatcher.compile("σ").matches("ΣΟΦΙΑ")).isTrue();
+	}
+
+	@Test
+	void emptyKeywordMatchesEverything() {
+		assertThat(KeywordMatcher.compile("").matches("")).isTrue();
+		assertThat(KeywordMatcher.compile("").matches("anything")).isTrue();
+	}
+
+}
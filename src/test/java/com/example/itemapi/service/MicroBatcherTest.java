@@ -0,0 +1,133 @@
+package com.example.itemapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	@Test
+	void completesEachSubmitterWithItsOwnResult() {
+		List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+		try (MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>("test", (inputs, deadline) -> {
+			batchSizes.add(inputs.size());
+			return inputs.stream().map(i -> i * 2).toList();
+		}, Executors.newSingleThreadExecutor(), 10, Duration.ofMillis(50), 2)) {
+
+			List<CompletableFuture<Integer>> results = IntStream.range(0, 25)
+					.mapToObj(i -> batcher.submit(i, TIMEOUT))
+					.toList();
+
+			assertThat(results.stream().map(CompletableFuture::join).toList())
+					.isEqualTo(IntStream.range(0, 25).map(i -> i * 2).boxed().toList());
+			assertThat(batchSizes).allMatch(size -> size <= 10);
+			assertThat(batchSizes).hasSizeLessThan(25);
+		}
+	}
+
+	@Test
+	void failsEveryMemberOfAFailedBatch() {
+		try (MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>("test", (inputs, deadline) -> {
+			throw new IllegalStateException("boom");
+		}, Runnable::run, 10, Duration.ofMillis(1), 2)) {
+
+			assertThatThrownBy(() -> batcher.submit(1, TIMEOUT).join())
+					.isInstanceOf(CompletionException.class)
+					.hasCauseInstanceOf(IllegalStateException.class);
+		}
+	}
+
+	@Test
+	void dropsSubmissionsThatExpireBeforeTheirBatchStarts() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		CountDownLatch release = new CountDownLatch(1);
+		List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+		List<Long> deadlines = new CopyOnWriteArrayList<>();
+		try (MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>("test", (inputs, deadline) -> {
+			batches.add(inputs);
+			deadlines.add(deadline);
+			await(release);
+			return inputs;
+		}, executor, 10, Duration.ofMillis(1), 2)) {
+
+			// Occupies the only thread, so the next batch waits in the executor queue
+			CompletableFuture<Integer> claimed = batcher.submit(1, Duration.ofMillis(50));
+			Thread.sleep(20);
+			long submitted = System.nanoTime();
+			CompletableFuture<Integer> expired = batcher.submit(2, Duration.ofMillis(50));
+			CompletableFuture<Integer> waiting = batcher.submit(3, TIMEOUT);
+			Thread.sleep(100);
+			release.countDown();
+
+			assertThatThrownBy(expired::join).hasCauseInstanceOf(TimeoutException.class);
+			// Claimed before its deadline, so it gets the real result even though the deadline has passed
+			assertThat(claimed.join()).isEqualTo(1);
+			assertThat(waiting.join()).isEqualTo(3);
+			assertThat(batches).containsExactly(List.of(1), List.of(3));
+			assertThat(deadlines.get(1)).isGreaterThan(submitted + Duration.ofSeconds(4).toNanos());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void holdsSubmissionsForTheNextBatchWhileTheLimitIsInFlight() throws Exception {
+		ExecutorService executor = Executors.newCachedThreadPool();
+		CountDownLatch release = new CountDownLatch(1);
+		List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+		try (MicroBatcher<Integer, Integer> batcher = new MicroBatcher<>("test", (inputs, deadline) -> {
+			batches.add(inputs);
+			await(release);
+			return inputs;
+		}, executor, 10, Duration.ofMillis(1), 1)) {
+
+			CompletableFuture<Integer> first = batcher.submit(0, TIMEOUT);
+			Thread.sleep(20);
+			List<CompletableFuture<Integer>> rest = IntStream.range(1, 6)
+					.mapToObj(i -> {
+						CompletableFuture<Integer> result = batcher.submit(i, TIMEOUT);
+						sleep(5);
+						return result;
+					})
+					.toList();
+			release.countDown();
+
+			assertThat(first.join()).isZero();
+			assertThat(rest.stream().map(CompletableFuture::join).toList()).containsExactly(1, 2, 3, 4, 5);
+			assertThat(batches).containsExactly(List.of(0), List.of(1, 2, 3, 4, 5));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.example.itemapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.itemapi.ItemApiApplication;
+import com.example.itemapi.model.ItemView;
+
+// The database search fallback over a million-row H2 table, its contains scan run sequentially
+// (parallelism 1) and split across scan threads. "zqx" matches nothing, so every chunk is scanned
+// to the end; "widget" matches every seventh row but never as a prefix, so the scan stops early.
+// The speedup is bounded by the cores available.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ParallelScanBenchmark {
+
+	private static final int ROWS = 1_000_000;
+	private static final int LIMIT = 20;
+
+	@Param({ "1", "4" })
+	int parallelism;
+
+	@Param({ "zqx", "widget" })
+	String keyword;
+
+	private ConfigurableApplicationContext context;
+	private ItemDatabaseSearch search;
+
+	@Setup
+	public void setUp() {
+		context = new SpringApplicationBuilder(ItemApiApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties("spring.datasource.url=jdbc:h2:mem:parallel-scan-benchmark",
+						"item.async.scan.parallelism=" + parallelism,
+						"logging.level.root=WARN")
+				.run();
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		List<Object[]> batch = new ArrayList<>(10_000);
+		for (long id = 1; id <= ROWS; id++) {
+			String name = "Product " + id + (id % 7 == 0 ? " Deluxe Widget" : " Basic Gadget");
+			String category = "Category " + id % 50;
+			batch.add(new Object[] { id, name, category, name.toLowerCase(), category.toLowerCase() });
+			if (batch.size() == 10_000) {
+				jdbcTemplate.batchUpdate(
+						"insert into items (id, name, category, name_norm, category_norm) values (?, ?, ?, ?, ?)", batch);
+				batch.clear();
+			}
+		}
+		search = context.getBean(ItemDatabaseSearch.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<ItemView> search() {
+		return search.search(keyword, LIMIT, System.nanoTime() + TimeUnit.MINUTES.toNanos(1));
+	}
+
+}
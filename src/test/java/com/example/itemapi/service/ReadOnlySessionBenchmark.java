@@ -0,0 +1,86 @@
+package com.example.itemapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.itemapi.ItemApiApplication;
+import com.example.itemapi.repository.ItemRepository;
+
+// Loading every row of a large items table as entities, in a read-only transaction (no snapshots,
+// no flush) and in a read-write one that dirty-checks them all at commit. Run with -prof gc and
+// compare gc.alloc.rate.norm (bytes per load). The second-level cache is off so only the session
+// differs.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ReadOnlySessionBenchmark {
+
+	@Param({ "10000", "100000" })
+	int rows;
+
+	private ConfigurableApplicationContext context;
+	private ItemRepository itemRepository;
+	private TransactionTemplate readOnly;
+	private TransactionTemplate readWrite;
+
+	@Setup
+	public void setUp() {
+		context = new SpringApplicationBuilder(ItemApiApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties("spring.datasource.url=jdbc:h2:mem:read-only-benchmark",
+						"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+						"spring.jpa.properties.hibernate.cache.use_query_cache=false",
+						"logging.level.root=WARN")
+				.run();
+		List<Object[]> items = new ArrayList<>(rows);
+		for (long id = 1; id <= rows; id++) {
+			items.add(new Object[] { id, "Product " + id, "Category " + id % 50 });
+		}
+		context.getBean(JdbcTemplate.class)
+				.batchUpdate("insert into items (id, name, category) values (?, ?, ?)", items);
+		itemRepository = context.getBean(ItemRepository.class);
+		PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readWrite = new TransactionTemplate(transactionManager);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int readOnly() {
+		return readOnly.execute(status -> itemRepository.findAll().size());
+	}
+
+	@Benchmark
+	public int readWrite() {
+		return readWrite.execute(status -> itemRepository.findAll().size());
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.example.itemapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SingleFlight<String, Integer> flight = new SingleFlight<>("test", meterRegistry);
+
+	@Test
+	void concurrentCallersForTheSameKeyShareOneCall() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> flight.execute("key", () -> {
+			calls.incrementAndGet();
+			started.countDown();
+			await(release);
+			return 42;
+		}));
+		started.await();
+		CompletableFuture<Integer> follower = flight.executeAsync("key", () -> {
+			calls.incrementAndGet();
+			return CompletableFuture.completedFuture(-1);
+		});
+		release.countDown();
+
+		assertThat(leader.join()).isEqualTo(42);
+		assertThat(follower.join()).isEqualTo(42);
+		assertThat(calls).hasValue(1);
+		assertThat(meterRegistry.counter("items.singleflight.collapsed", "name", "test").count()).isEqualTo(1);
+	}
+
+	@Test
+	void completedFlightsAreNotReused() {
+		AtomicInteger calls = new AtomicInteger();
+
+		flight.execute("key", calls::incrementAndGet);
+		flight.execute("key", calls::incrementAndGet);
+
+		assertThat(calls).hasValue(2);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}